@@ -0,0 +1,3 @@
+#!/bin/sh
+# Allow replication connections from the compose network (the read replica's pg_basebackup / WAL stream)
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
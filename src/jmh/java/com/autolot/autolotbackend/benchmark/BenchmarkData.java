@@ -0,0 +1,74 @@
+package com.autolot.autolotbackend.benchmark;
+
+import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
+import com.autolot.autolotbackend.model.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures: every run, fork and machine benchmarks the same inputs.
+ */
+final class BenchmarkData {
+
+    private static final String[] MAKES = {"Toyota", "Ford", "Volkswagen", "BMW", "Nissan", "Hyundai"};
+    private static final String[] MODELS = {"Hilux", "Ranger", "Polo", "3 Series", "Navara", "Tucson"};
+    private static final String[] COLORS = {"White", "Silver", "Black", "Grey", "Blue", "Red"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Vehicle> vehicles(int count, int imagesPerVehicle) {
+        Random random = new Random(42);
+        List<Vehicle> vehicles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vehicles.add(vehicle(random, imagesPerVehicle));
+        }
+        return vehicles;
+    }
+
+    static VehicleRequestDTO request() {
+        return new VehicleRequestDTO(
+                "Toyota", "Hilux", 2021, new BigDecimal("459900.00"), 48000, "AHTFR22G506012345",
+                VehicleCondition.USED, Transmission.MANUAL, FuelType.DIESEL, BodyType.TRUCK,
+                "White", "Grey", "2.8 GD-6 double cab 4x4, full service history, one owner.", true);
+    }
+
+    private static Vehicle vehicle(Random random, int imagesPerVehicle) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(new UUID(random.nextLong(), random.nextLong()).toString());
+        vehicle.setMake(MAKES[random.nextInt(MAKES.length)]);
+        vehicle.setModel(MODELS[random.nextInt(MODELS.length)]);
+        vehicle.setYear(2010 + random.nextInt(16));
+        vehicle.setPrice(BigDecimal.valueOf(50_000 + random.nextInt(950_000)));
+        vehicle.setMileage(random.nextInt(250_000));
+        vehicle.setVin("VIN" + Long.toHexString(random.nextLong()).toUpperCase());
+        vehicle.setCondition(VehicleCondition.values()[random.nextInt(VehicleCondition.values().length)]);
+        vehicle.setTransmission(Transmission.values()[random.nextInt(Transmission.values().length)]);
+        vehicle.setFuelType(FuelType.values()[random.nextInt(FuelType.values().length)]);
+        vehicle.setBodyType(BodyType.values()[random.nextInt(BodyType.values().length)]);
+        vehicle.setExteriorColor(COLORS[random.nextInt(COLORS.length)]);
+        vehicle.setInteriorColor(COLORS[random.nextInt(COLORS.length)]);
+        vehicle.setDescription("Well maintained, full service history, two keys and spare wheel.");
+        vehicle.setFeatured(random.nextInt(10) == 0);
+        vehicle.setStatus(VehicleStatus.AVAILABLE);
+        vehicle.setCreatedAt(LocalDateTime.of(2025, 1, 1, 8, 0).plusMinutes(random.nextInt(500_000)));
+        vehicle.setUpdatedAt(vehicle.getCreatedAt());
+
+        for (int i = 0; i < imagesPerVehicle; i++) {
+            VehicleImage image = new VehicleImage();
+            String base = "/api/public/images/acme-motors/" + vehicle.getId() + "/" + i;
+            image.setVehicle(vehicle);
+            image.setImageUrl(base + ".jpg");
+            image.setThumbnailUrl(base + "-thumb.jpg");
+            image.setDisplayOrder(i);
+            image.setPrimaryPhoto(i == 0);
+            vehicle.getVehicleImages().add(image);
+        }
+        return vehicle;
+    }
+}
@@ -0,0 +1,59 @@
+package com.autolot.autolotbackend.benchmark;
+
+import com.autolot.autolotbackend.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. "cached" verifies the same token every time (JwtUtil's
+ * verified-token cache hit, the steady state for a logged-in admin); "fresh" issues a new token per
+ * call, so every verification parses and checks the signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10_000L);
+        jwtUtil.init();
+        token = issue();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return issue();
+    }
+
+    @Benchmark
+    public boolean validateJwtToken_cached() {
+        return jwtUtil.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims extractClaims_cached() {
+        return jwtUtil.extractClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken_fresh() {
+        return jwtUtil.validateJwtToken(issue());
+    }
+
+    private String issue() {
+        return jwtUtil.generateToken("user-1", "dealership-1", "admin@acme-motors.example", "ADMIN");
+    }
+}
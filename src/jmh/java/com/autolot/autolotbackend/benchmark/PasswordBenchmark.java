@@ -0,0 +1,37 @@
+package com.autolot.autolotbackend.benchmark;
+
+import com.autolot.autolotbackend.service.password.PasswordService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bcrypt is deliberately slow (tens of ms); fewer, longer iterations keep run time reasonable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private PasswordService passwordService;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordService = new PasswordService(10, 0, 100);
+        hash = passwordService.hashPassword("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean verifyPassword_match() {
+        return passwordService.verifyPassword("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public boolean verifyPassword_mismatch() {
+        return passwordService.verifyPassword("wrong password", hash);
+    }
+}
@@ -0,0 +1,35 @@
+package com.autolot.autolotbackend.benchmark;
+
+import com.autolot.autolotbackend.security.SubdomainTenantFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SubdomainSlugBenchmark {
+
+    @Param({"acme-motors.autolot.com", "acme-motors.autolot.com:8080", "localhost:8080"})
+    String host;
+
+    private SubdomainTenantFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        // getSubdomainSlug only parses the Host header; the slug cache is never touched
+        filter = new SubdomainTenantFilter(null);
+        request = new MockHttpServletRequest();
+        request.addHeader("Host", host);
+    }
+
+    @Benchmark
+    public String getSubdomainSlug() {
+        return filter.getSubdomainSlug(request);
+    }
+}
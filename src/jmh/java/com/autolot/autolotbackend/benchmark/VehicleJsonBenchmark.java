@@ -0,0 +1,41 @@
+package com.autolot.autolotbackend.benchmark;
+
+import com.autolot.autolotbackend.mapper.VehicleMapper;
+import com.autolot.autolotbackend.model.dto.VehicleResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a listing response, the dominant per-request cost of an uncached page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class VehicleJsonBenchmark {
+
+    @Param({"20", "100"})
+    int vehicles;
+
+    private ObjectMapper objectMapper;
+    private List<VehicleResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        page = BenchmarkData.vehicles(vehicles, 4).stream()
+                .map(VehicleMapper::toDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,40 @@
+package com.autolot.autolotbackend.benchmark;
+
+import com.autolot.autolotbackend.mapper.VehicleMapper;
+import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
+import com.autolot.autolotbackend.model.dto.VehicleResponseDTO;
+import com.autolot.autolotbackend.model.entity.Vehicle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class VehicleMapperBenchmark {
+
+    @Param({"0", "8"})
+    int images;
+
+    private Vehicle vehicle;
+    private VehicleRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        vehicle = BenchmarkData.vehicles(1, images).getFirst();
+        request = BenchmarkData.request();
+    }
+
+    @Benchmark
+    public VehicleResponseDTO toDTO() {
+        return VehicleMapper.toDTO(vehicle);
+    }
+
+    @Benchmark
+    public Vehicle toEntity() {
+        return VehicleMapper.toEntity(request);
+    }
+}
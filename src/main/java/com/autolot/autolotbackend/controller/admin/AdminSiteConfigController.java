@@ -0,0 +1,39 @@
+package com.autolot.autolotbackend.controller.admin;
+
+import com.autolot.autolotbackend.model.dto.SiteConfigDTO;
+import com.autolot.autolotbackend.model.dto.SiteConfigRequestDTO;
+import com.autolot.autolotbackend.service.siteconfig.SiteConfigService;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.JsonNode;
+
+@RestController
+@RequestMapping("/api/admin/site-config")
+@RequiredArgsConstructor
+public class AdminSiteConfigController {
+
+    private final SiteConfigService siteConfigService;
+
+    @GetMapping
+    public ResponseEntity<SiteConfigDTO> get(){
+        return ResponseEntity.ok(siteConfigService.getSiteConfig(TenantContext.requireDealershipId()));
+    }
+
+    @PutMapping
+    public ResponseEntity<SiteConfigDTO> update(@Valid @RequestBody SiteConfigRequestDTO request){
+        return ResponseEntity.ok(siteConfigService.updateSiteConfig(request));
+    }
+
+    /**
+     * Replaces a single layout section (by its "id") server-side, so an editor saving one section
+     * sends and writes only that section instead of the whole layout.
+     */
+    @PatchMapping("/layout/sections/{sectionId}")
+    public ResponseEntity<Void> updateSection(@PathVariable String sectionId, @RequestBody JsonNode section){
+        siteConfigService.updateLayoutSection(sectionId, section);
+        return ResponseEntity.noContent().build();
+    }
+}
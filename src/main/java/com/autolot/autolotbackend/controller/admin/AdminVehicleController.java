@@ -1,39 +1,163 @@
 package com.autolot.autolotbackend.controller.admin;
 
+import com.autolot.autolotbackend.exception.PreconditionFailedException;
+import com.autolot.autolotbackend.model.dto.VehicleFilterDTO;
+import com.autolot.autolotbackend.model.dto.VehicleImportProgressDTO;
+import com.autolot.autolotbackend.model.dto.VehiclePageDTO;
 import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
 import com.autolot.autolotbackend.model.dto.VehicleResponseDTO;
+import com.autolot.autolotbackend.model.dto.VehicleSort;
+import com.autolot.autolotbackend.service.inventory.InventoryEventHub;
+import com.autolot.autolotbackend.service.vehicle.VehicleExportService;
+import com.autolot.autolotbackend.service.vehicle.VehicleFileFormat;
+import com.autolot.autolotbackend.service.vehicle.VehicleImportService;
 import com.autolot.autolotbackend.service.vehicle.VehicleService;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/api/admin/vehicles")
 @RequiredArgsConstructor
 public class AdminVehicleController {
+    private static final String TEXT_CSV = "text/csv";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final VehicleService vehicleService;
+    private final VehicleImportService vehicleImportService;
+    private final VehicleExportService vehicleExportService;
+    private final InventoryEventHub inventoryEventHub;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<VehicleResponseDTO> create(@RequestBody VehicleRequestDTO vehicleRequestDTO){
         return ResponseEntity.status(HttpStatus.CREATED).body(vehicleService.createVehicle(vehicleRequestDTO));
     }
 
+    /**
+     * Bulk import from a CSV (header row required) or NDJSON body. The body is streamed, never
+     * buffered; the response is NDJSON with one "error" line per rejected row, a "progress" line
+     * after each batch and a final "done" line.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importVehicles(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String dealershipId = TenantContext.requireDealershipId();
+        VehicleFileFormat format = request.getContentType().startsWith(TEXT_CSV)
+                ? VehicleFileFormat.CSV
+                : VehicleFileFormat.NDJSON;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        VehicleImportService.ImportResult result = vehicleImportService.importVehicles(dealershipId, request.getInputStream(), format, new VehicleImportService.ImportListener() {
+            @Override
+            public void onRowError(long row, String message) throws IOException {
+                writeLine(out, new VehicleImportProgressDTO("error", row, message, null, null, null));
+            }
+
+            @Override
+            public void onProgress(long processed, long imported, long failed) throws IOException {
+                writeLine(out, new VehicleImportProgressDTO("progress", null, null, processed, imported, failed));
+                // Push each batch's lines to the client as soon as it's written
+                out.flush();
+            }
+        });
+
+        writeLine(out, new VehicleImportProgressDTO("done", null, null, result.processed(), result.imported(), result.failed()));
+        out.flush();
+    }
+
+    /**
+     * Whole-inventory export for marketplace feeds, streamed from a database cursor.
+     * format=csv (default) or format=ndjson.
+     */
+    @GetMapping("/export")
+    public void exportVehicles(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        String dealershipId = TenantContext.requireDealershipId();
+        VehicleFileFormat fileFormat = "ndjson".equalsIgnoreCase(format) ? VehicleFileFormat.NDJSON : VehicleFileFormat.CSV;
+
+        response.setContentType(fileFormat == VehicleFileFormat.CSV ? TEXT_CSV + ";charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("vehicles." + (fileFormat == VehicleFileFormat.CSV ? "csv" : "ndjson"))
+                .build()
+                .toString());
+        vehicleExportService.exportVehicles(dealershipId, fileFormat, response.getOutputStream());
+    }
+
     @GetMapping
-    public ResponseEntity<List<VehicleResponseDTO>> getAll(){
-        return ResponseEntity.ok(vehicleService.getAllVehicles());
+    public ResponseEntity<VehiclePageDTO> getAll(
+            @ModelAttribute VehicleFilterDTO filter,
+            @RequestParam(required = false) VehicleSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(vehicleService.getVehiclePage(filter, sort, cursor, limit));
     }
 
+    /**
+     * Server-sent events for every committed change to this dealership's inventory, so dashboards
+     * can apply updates instead of polling the listing. Reconnects resume from Last-Event-ID.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        return inventoryEventHub.subscribe(TenantContext.requireDealershipId(), InventoryEventHub.Audience.ADMIN, lastEventId);
+    }
+
+    /**
+     * The ETag is the vehicle's version: a matching If-None-Match gets a 304 with no body.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<VehicleResponseDTO> getById(@PathVariable String id){
-        return ResponseEntity.ok(vehicleService.getVehicleById(id));
+    public ResponseEntity<VehicleResponseDTO> getById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        VehicleService.VersionedVehicle result = vehicleService.getVehicleByIdIfModified(id,
+                version -> noneMatchHits(ifNoneMatch, version));
+        if (result.vehicle() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(result.version())).build();
+        }
+        return ResponseEntity.ok().eTag(etag(result.version())).body(result.vehicle());
     }
 
+    /**
+     * With If-Match (the ETag from a GET) the update only applies to that version; otherwise 412.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<VehicleResponseDTO> update(@PathVariable String id, @RequestBody VehicleRequestDTO vehicle){
-        return ResponseEntity.ok(vehicleService.updateVehicle(id, vehicle));
+    public ResponseEntity<VehicleResponseDTO> update(
+            @PathVariable String id,
+            @RequestBody VehicleRequestDTO vehicle,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        VehicleResponseDTO updated = vehicleService.updateVehicle(id, vehicle, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(updated.version())).body(updated);
+    }
+
+    /**
+     * JSON Merge Patch (RFC 7396): send only the fields to change, e.g. {"price": 189900}.
+     * Honours If-Match like PUT; a patch that changes nothing writes nothing.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<VehicleResponseDTO> patch(
+            @PathVariable String id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        VehicleResponseDTO patched = vehicleService.patchVehicle(id, patch, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(patched.version())).body(patched);
+    }
+
+    @PostMapping(value = "/{id}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<VehicleResponseDTO> uploadImages(@PathVariable String id, @RequestParam("files") MultipartFile[] files){
+        return ResponseEntity.status(HttpStatus.CREATED).body(vehicleService.addImages(id, files));
     }
 
     @DeleteMapping("/{id}")
@@ -41,4 +165,40 @@ public class AdminVehicleController {
         vehicleService.deleteVehicle(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-None-Match uses weak comparison, so W/ prefixes are ignored
+    private static boolean noneMatchHits(String header, long version) {
+        if (header == null) return false;
+        String current = etag(version);
+        for (String tag : header.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) return true;
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals(current)) return true;
+        }
+        return false;
+    }
+
+    // If-Match needs a strong comparison: one non-weak ETag, or * for "any version"
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.contains(",") || tag.startsWith("W/") || tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single ETag returned by this API");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match must be a single ETag returned by this API");
+        }
+    }
+
+    private void writeLine(OutputStream out, VehicleImportProgressDTO line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
 }
@@ -0,0 +1,32 @@
+package com.autolot.autolotbackend.controller.storefront;
+
+import com.autolot.autolotbackend.service.cache.SiteConfigCache;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Public theme and layout of the storefront resolved from the subdomain.
+ */
+@RestController
+@RequestMapping("/api/public/site-config")
+@RequiredArgsConstructor
+public class StorefrontSiteConfigController {
+    // Browsers/CDNs must revalidate, but a matching ETag costs a 304 with no body
+    private static final String CACHE_CONTROL = "public, no-cache";
+
+    private final SiteConfigCache siteConfigCache;
+
+    @GetMapping
+    public ResponseEntity<byte[]> get(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return siteConfigCache.get(TenantContext.requireDealershipId())
+                .toResponse(ifNoneMatch, acceptEncoding, CACHE_CONTROL);
+    }
+}
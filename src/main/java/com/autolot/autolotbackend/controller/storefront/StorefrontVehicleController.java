@@ -0,0 +1,89 @@
+package com.autolot.autolotbackend.controller.storefront;
+
+import com.autolot.autolotbackend.model.dto.VehicleSearchQuery;
+import com.autolot.autolotbackend.model.dto.VehicleSearchResultDTO;
+import com.autolot.autolotbackend.model.dto.VehicleSort;
+import com.autolot.autolotbackend.service.cache.PublicResponseCache;
+import com.autolot.autolotbackend.service.inventory.InventoryEventHub;
+import com.autolot.autolotbackend.service.vehicle.VehicleService;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Public (no auth) inventory endpoints for a dealership's storefront.
+ * The dealership is resolved from the subdomain by SubdomainTenantFilter.
+ */
+@RestController
+@RequestMapping("/api/public/vehicles")
+@RequiredArgsConstructor
+public class StorefrontVehicleController {
+    // Browsers/CDNs must revalidate, but a matching ETag costs a 304 with no body
+    private static final String CACHE_CONTROL = "public, no-cache";
+
+    private final VehicleService vehicleService;
+    private final PublicResponseCache publicResponseCache;
+    private final InventoryEventHub inventoryEventHub;
+
+    /**
+     * Listing and featured are served as pre-serialized bytes from PublicResponseCache;
+     * a hit never reaches the database or Jackson.
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> list(
+            @RequestParam(required = false) VehicleSort sort,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        String dealershipId = TenantContext.requireDealershipId();
+        // Key on the page actually served: no limit and ?limit=20, or ?limit=1000 and ?limit=100,
+        // are the same response and share one entry
+        VehicleSort pageSort = VehicleService.sortOrDefault(sort);
+        int pageOffset = VehicleService.pageOffset(offset);
+        int pageSize = VehicleService.pageSize(limit);
+        String endpoint = "list?sort=" + pageSort + "&offset=" + pageOffset + "&limit=" + pageSize;
+        return publicResponseCache
+                .get(dealershipId, endpoint, () -> vehicleService.getPublicListing(pageSort, pageOffset, pageSize))
+                .toResponse(ifNoneMatch, acceptEncoding, CACHE_CONTROL);
+    }
+
+    @GetMapping("/featured")
+    public ResponseEntity<byte[]> featured(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        String dealershipId = TenantContext.requireDealershipId();
+        return publicResponseCache
+                .get(dealershipId, "featured", vehicleService::getPublicFeatured)
+                .toResponse(ifNoneMatch, acceptEncoding, CACHE_CONTROL);
+    }
+
+    /**
+     * Live changes to the storefront's available inventory; resumes from Last-Event-ID.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        return inventoryEventHub.subscribe(TenantContext.requireDealershipId(), InventoryEventHub.Audience.STOREFRONT, lastEventId);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<VehicleSearchResultDTO> search(
+            @ModelAttribute VehicleSearchQuery query,
+            @RequestParam(required = false) VehicleSort sort,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(vehicleService.searchVehicles(query, sort, offset, limit));
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<VehicleSearchResultDTO> textSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(vehicleService.textSearchVehicles(q, offset, limit));
+    }
+}
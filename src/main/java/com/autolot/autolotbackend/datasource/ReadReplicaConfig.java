@@ -0,0 +1,72 @@
+package com.autolot.autolotbackend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single spring.datasource pool with a primary + read replicas pair when
+ * app.read-replicas.enabled is set.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: it only picks a physical
+ * connection once the transaction has started, and a @Transactional(readOnly = true) transaction
+ * marks its connection read-only first, which sends it to {@link ReplicaRouting#readDataSource()}.
+ * Everything else (writes, Flyway, non-transactional access) uses the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRouting replicaRouting(
+            @Value("${spring.datasource.url}") String primaryUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.read-replicas.urls}") List<String> replicaUrls,
+            @Value("${app.read-replicas.username:${spring.datasource.username}}") String replicaUsername,
+            @Value("${app.read-replicas.password:${spring.datasource.password}}") String replicaPassword,
+            @Value("${app.read-replicas.pool-size:10}") int replicaPoolSize,
+            @Value("${app.read-replicas.sticky-window:5s}") Duration stickyWindow,
+            @Value("${app.read-replicas.max-lag:2s}") Duration maxLag,
+            @Value("${app.read-replicas.check-interval:1s}") Duration checkInterval
+    ) {
+        DataSource primary = pool("primary", primaryUrl, username, password, 10, Duration.ofSeconds(30));
+
+        List<ReplicaRouting.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            // Short connection timeout: an unreachable replica should fall back to the primary quickly
+            replicas.add(new ReplicaRouting.Replica(name,
+                    pool(name, replicaUrls.get(i), replicaUsername, replicaPassword, replicaPoolSize, Duration.ofSeconds(2))));
+        }
+        return new ReplicaRouting(primary, replicas, stickyWindow, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouting replicaRouting) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRouting.writeDataSource());
+        dataSource.setReadOnlyDataSource(replicaRouting.readDataSource());
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, int size, Duration connectionTimeout) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(size);
+        pool.setConnectionTimeout(connectionTimeout.toMillis());
+        return pool;
+    }
+}
@@ -0,0 +1,231 @@
+package com.autolot.autolotbackend.datasource;
+
+import com.autolot.autolotbackend.tenant.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits connections between the primary and its read replicas.
+ *
+ * {@link #readDataSource()} hands out replica connections round-robin, falling back to the
+ * primary when every replica is down or lagging more than max-lag, and for a dealership that
+ * committed a write through {@link #writeDataSource()} within the last sticky-window (so an admin
+ * sees their own update on the next page load). Replica health and lag are probed every
+ * check-interval.
+ */
+public class ReplicaRouting implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    // 1: whether a standby has lost its WAL stream. It then stops receiving, so "replayed all it
+    // received" no longer means caught up.
+    // 2: seconds since the last replayed transaction; 0 when a streaming replica has replayed all
+    // it has received (an idle primary would otherwise look like growing lag) or isn't a standby
+    private static final String LAG_SQL = """
+            SELECT pg_is_in_recovery()
+                       AND NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming'),
+                   CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    public record Replica(String name, DataSource dataSource) {
+    }
+
+    private static final class ReplicaState {
+        final Replica replica;
+        volatile boolean healthy = true;
+
+        ReplicaState(Replica replica) {
+            this.replica = replica;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<ReplicaState> replicas;
+    private final Duration maxLag;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+
+    private final DataSource writeDataSource;
+    private final DataSource readDataSource;
+
+    public ReplicaRouting(DataSource primary, List<Replica> replicas, Duration stickyWindow, Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(ReplicaState::new).toList();
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+        this.writeDataSource = new WriteTrackingDataSource(primary);
+        this.readDataSource = new ReadDataSource();
+
+        if (checkInterval.isZero() || this.replicas.isEmpty()) {
+            this.healthChecks = null;
+        } else {
+            this.healthChecks = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("replica-health")
+                    .daemon(true)
+                    .factory());
+            healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public DataSource writeDataSource() {
+        return writeDataSource;
+    }
+
+    public DataSource readDataSource() {
+        return readDataSource;
+    }
+
+    /**
+     * Probes every replica once, marking it down on a connection error, when it isn't streaming
+     * from the primary or when it lags too far behind.
+     */
+    void checkReplicas() {
+        for (ReplicaState state : replicas) {
+            boolean healthy;
+            try (Connection connection = state.replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+                try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                    rs.next();
+                    boolean disconnected = rs.getBoolean(1);
+                    double lagSeconds = rs.getDouble(2);
+                    healthy = !disconnected && lagSeconds * 1000 <= maxLag.toMillis();
+                    if (disconnected && state.healthy) {
+                        log.warn("Replica {} is not streaming from the primary; routing reads to the primary", state.replica.name());
+                    } else if (!healthy && state.healthy) {
+                        log.warn("Replica {} is {}s behind the primary; routing reads to the primary", state.replica.name(), lagSeconds);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+                if (state.healthy) {
+                    log.warn("Replica {} failed its health check; routing reads to the primary: {}", state.replica.name(), e.getMessage());
+                }
+            }
+            if (healthy && !state.healthy) {
+                log.info("Replica {} is back in rotation", state.replica.name());
+            }
+            state.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+        }
+        for (ReplicaState state : replicas) {
+            closePool(state.replica.name(), state.replica.dataSource());
+        }
+        closePool("primary", primary);
+    }
+
+    private static void closePool(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close connection pool {}", name, e);
+            }
+        }
+    }
+
+    private Connection readConnection(String username, String password) throws SQLException {
+        String dealershipId = TenantContext.getDealershipId();
+        if (dealershipId == null || recentWriters.getIfPresent(dealershipId) == null) {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+            for (int i = 0; i < size; i++) {
+                ReplicaState state = replicas.get((start + i) % size);
+                if (!state.healthy) continue;
+                try {
+                    return connect(state.replica.dataSource(), username, password);
+                } catch (SQLException e) {
+                    // Don't fail the read; take the replica out until the next successful probe
+                    state.healthy = false;
+                    log.warn("Replica {} refused a connection; routing reads to the primary: {}", state.replica.name(), e.getMessage());
+                }
+            }
+        }
+        return connect(primary, username, password);
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private class ReadDataSource extends AbstractDataSource {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readConnection(null, null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return readConnection(username, password);
+        }
+    }
+
+    /**
+     * The primary, remembering which dealerships just committed a read-write transaction on it.
+     */
+    private class WriteTrackingDataSource extends DelegatingDataSource {
+        WriteTrackingDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            recordWrite();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            recordWrite();
+            return super.getConnection(username, password);
+        }
+
+        // The sticky window starts at commit: a long transaction would otherwise use most of it
+        // up before its changes are visible anywhere, and a rolled-back one wouldn't need it
+        private void recordWrite() {
+            String dealershipId = TenantContext.getDealershipId();
+            if (dealershipId != null
+                    && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(dealershipId, Boolean.TRUE);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.autolot.autolotbackend.mapper;
+
+import com.autolot.autolotbackend.model.dto.SiteConfigDTO;
+import com.autolot.autolotbackend.model.dto.SiteConfigRequestDTO;
+import com.autolot.autolotbackend.model.entity.SiteConfig;
+
+public class SiteConfigMapper {
+
+    public static SiteConfigDTO toDTO(SiteConfig siteConfig) {
+        return new SiteConfigDTO(
+                siteConfig.getTheme(),
+                siteConfig.getPrimaryColor(),
+                siteConfig.getSecondaryColor(),
+                siteConfig.getFontFamily(),
+                siteConfig.getCustomCss(),
+                siteConfig.getLayoutJson(),
+                siteConfig.getUpdatedAt()
+        );
+    }
+
+    public static void updateEntity(SiteConfig siteConfig, SiteConfigRequestDTO dto, String layoutJson) {
+        siteConfig.setTheme(dto.theme());
+        siteConfig.setPrimaryColor(dto.primaryColor());
+        siteConfig.setSecondaryColor(dto.secondaryColor());
+        siteConfig.setFontFamily(dto.fontFamily());
+        siteConfig.setCustomCss(dto.customCss());
+        siteConfig.setLayoutJson(layoutJson);
+    }
+}
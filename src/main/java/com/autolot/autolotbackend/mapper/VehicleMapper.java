@@ -1,5 +1,6 @@
 package com.autolot.autolotbackend.mapper;
 
+import com.autolot.autolotbackend.model.dto.VehicleImageDTO;
 import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
 import com.autolot.autolotbackend.model.dto.VehicleResponseDTO;
 import com.autolot.autolotbackend.model.entity.Vehicle;
@@ -46,10 +47,30 @@ public class VehicleMapper {
     }
 
     public static VehicleResponseDTO toDTO(Vehicle vehicle){
-        List<String> imageUrls = vehicle.getVehicleImages().stream()
-                .map(VehicleImage::getImageUrl)
+        // Originals keep their EXIF/GPS data and are several MB, so only images the pipeline
+        // has produced resized copies of are exposed
+        List<VehicleImage> processed = vehicle.getVehicleImages().stream()
+                .filter(image -> image.getFullUrl() != null)
                 .toList();
 
+        List<String> imageUrls = processed.stream()
+                .map(VehicleImage::getFullUrl)
+                .toList();
+
+        List<VehicleImageDTO> images = processed.stream()
+                .map(image -> new VehicleImageDTO(image.getId(), image.getThumbnailUrl(), image.getCardUrl(),
+                        image.getFullUrl(), image.isPrimaryPhoto()))
+                .toList();
+
+        // Listing grids use the primary photo's thumbnail, or the first processed one's
+        // while the primary photo is still in the pipeline
+        String thumbnailUrl = processed.stream()
+                .filter(VehicleImage::isPrimaryPhoto)
+                .findFirst()
+                .or(() -> processed.stream().findFirst())
+                .map(VehicleImage::getThumbnailUrl)
+                .orElse(null);
+
         return new VehicleResponseDTO(
                     vehicle.getId(),
                     vehicle.getMake(),
@@ -68,8 +89,11 @@ public class VehicleMapper {
                     vehicle.getFeatured(),
                     vehicle.getStatus(),
                     imageUrls,
+                    images,
+                    thumbnailUrl,
                     vehicle.getCreatedAt(),
-                    vehicle.getUpdatedAt()
+                    vehicle.getUpdatedAt(),
+                    vehicle.getVersion()
                 );
     }
 }
@@ -0,0 +1,17 @@
+package com.autolot.autolotbackend.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts entities hydrated per request (rows read through JPA) for {@link RequestTimings}.
+ * Registered with hibernate.session_factory.interceptor.
+ */
+public class EntityLoadCounter implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestTimings.rowLoaded();
+        return false;
+    }
+}
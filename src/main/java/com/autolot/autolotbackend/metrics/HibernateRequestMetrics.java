@@ -0,0 +1,45 @@
+package com.autolot.autolotbackend.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-session Hibernate listener feeding {@link RequestTimings}: statement count and time, and
+ * time spent waiting for a pooled connection. Registered with hibernate.session.events.auto;
+ * Hibernate creates one instance per session, on the thread that uses it.
+ */
+public class HibernateRequestMetrics implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+    private long acquisitionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTimings.statement(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTimings.statement(System.nanoTime() - batchStart);
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTimings.connectionWait(System.nanoTime() - acquisitionStart);
+    }
+}
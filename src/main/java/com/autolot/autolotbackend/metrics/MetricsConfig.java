@@ -0,0 +1,25 @@
+package com.autolot.autolotbackend.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final JsonMapper jsonMapper;
+
+    // Swap the JSON converter for one that reports its serialization time
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> converter.getClass() == JacksonJsonHttpMessageConverter.class
+                ? new TimedJacksonJsonHttpMessageConverter(jsonMapper)
+                : converter);
+    }
+}
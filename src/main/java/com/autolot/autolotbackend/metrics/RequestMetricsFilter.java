@@ -0,0 +1,168 @@
+package com.autolot.autolotbackend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost filter: binds {@link RequestTimings} for the request and, when it completes, records
+ * the autolot.http.* meters (latency by endpoint, latency by dealership, SQL statements/rows,
+ * DB time, pool wait, serialization) and autolot.security.filter (time per security filter).
+ * Only the per-endpoint latency has percentile buckets; the per-dealership timer grows with the
+ * number of tenants, so it keeps just count, total and max.
+ *
+ * With app.metrics.server-timing enabled (off by default, on in the dev profile), the same
+ * breakdown is sent as a Server-Timing header, added just before the response commits.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTimingEnabled;
+
+    public RequestMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.metrics.server-timing:false}") boolean serverTimingEnabled
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        long start = System.nanoTime();
+        ServerTimingResponse serverTimingResponse = serverTimingEnabled ? new ServerTimingResponse(response, timings) : null;
+        try {
+            filterChain.doFilter(request, serverTimingResponse != null ? serverTimingResponse : response);
+        } finally {
+            // Bodiless responses (204, 304, redirects) never asked for an output stream
+            if (serverTimingResponse != null) serverTimingResponse.addServerTiming();
+            RequestTimings.end();
+            record(request, response, timings, System.nanoTime() - start);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestTimings timings, long nanos) {
+        // The matched route, not the raw path, so ids in URLs don't explode the tag space
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        Timer.builder("autolot.http.requests")
+                .description("Request latency by endpoint")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("status", Integer.toString(response.getStatus()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Timer.builder("autolot.http.requests.dealership")
+                .description("Request latency by dealership")
+                .tag("dealership", timings.dealershipId() != null ? timings.dealershipId() : "none")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder("autolot.http.requests.sql.statements")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(timings.statements());
+        DistributionSummary.builder("autolot.http.requests.sql.rows")
+                .description("Entities loaded through JPA")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(timings.rows());
+        Timer.builder("autolot.http.requests.db")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(timings.dbNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("autolot.http.requests.connection.wait")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(timings.connectionWaitNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("autolot.http.requests.serialization")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(timings.serializationNanos(), TimeUnit.NANOSECONDS);
+
+        timings.filterNanos().forEach((filter, filterNanos) -> Timer.builder("autolot.security.filter")
+                .tag("filter", filter)
+                .register(meterRegistry)
+                .record(filterNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Adds Server-Timing the first time the body is about to be written: by then filters, queries
+     * and serialization (done into a buffer first, see TimedJacksonJsonHttpMessageConverter) are over.
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                setHeader(SERVER_TIMING, timings.serverTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+    }
+}
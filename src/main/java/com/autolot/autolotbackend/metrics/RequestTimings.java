@@ -0,0 +1,129 @@
+package com.autolot.autolotbackend.metrics;
+
+import jakarta.servlet.FilterChain;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Where one request's time went: each security filter's own work, JDBC statements (count, time,
+ * connection pool wait), entities loaded and JSON serialization.
+ *
+ * Bound to the request thread by {@link RequestMetricsFilter}. The static recorders are no-ops on
+ * threads without a request (startup, the image pipeline), so callers never need to check.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> current = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> filterNanos = new LinkedHashMap<>();
+    private String dealershipId;
+    private int statements;
+    private long dbNanos;
+    private long connectionWaitNanos;
+    private long rows;
+    private long serializationNanos;
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        current.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        current.remove();
+    }
+
+    /**
+     * Wraps a filter's chain so the time from filter entry until it hands over to the next filter
+     * is recorded as that filter's own time.
+     */
+    public static FilterChain timeFilter(String name, FilterChain chain) {
+        RequestTimings timings = current.get();
+        if (timings == null) {
+            return chain;
+        }
+        long entered = System.nanoTime();
+        return (request, response) -> {
+            timings.filterNanos.merge(name, System.nanoTime() - entered, Long::sum);
+            chain.doFilter(request, response);
+        };
+    }
+
+    public static void dealership(String dealershipId) {
+        RequestTimings timings = current.get();
+        if (timings != null) timings.dealershipId = dealershipId;
+    }
+
+    static void statement(long nanos) {
+        RequestTimings timings = current.get();
+        if (timings != null) {
+            timings.statements++;
+            timings.dbNanos += nanos;
+        }
+    }
+
+    static void connectionWait(long nanos) {
+        RequestTimings timings = current.get();
+        if (timings != null) timings.connectionWaitNanos += nanos;
+    }
+
+    static void rowLoaded() {
+        RequestTimings timings = current.get();
+        if (timings != null) timings.rows++;
+    }
+
+    public static void serialization(long nanos) {
+        RequestTimings timings = current.get();
+        if (timings != null) timings.serializationNanos += nanos;
+    }
+
+    Map<String, Long> filterNanos() {
+        return filterNanos;
+    }
+
+    String dealershipId() {
+        return dealershipId;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long dbNanos() {
+        return dbNanos;
+    }
+
+    long connectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    long serializationNanos() {
+        return serializationNanos;
+    }
+
+    /**
+     * Server-Timing header value (https://w3c.github.io/server-timing/), as of now.
+     */
+    String serverTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        filterNanos.forEach((filter, nanos) -> header.add(metric("filter-" + filter, nanos, null)));
+        header.add(metric("db", dbNanos, statements + " statements, " + rows + " rows"));
+        header.add(metric("pool", connectionWaitNanos, null));
+        header.add(metric("serialize", serializationNanos, null));
+        header.add(metric("app", System.nanoTime() - startNanos, null));
+        return header.toString();
+    }
+
+    private static String metric(String name, long nanos, String description) {
+        String metric = String.format(Locale.ROOT, "%s;dur=%.2f", name, nanos / 1_000_000.0);
+        return description != null ? metric + ";desc=\"" + description + "\"" : metric;
+    }
+}
@@ -0,0 +1,47 @@
+package com.autolot.autolotbackend.metrics;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.util.FastByteArrayOutputStream;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * The standard JSON converter, but serializing into a buffer first so the time spent in Jackson
+ * can be recorded in {@link RequestTimings} before the response (and its Server-Timing header)
+ * is committed.
+ */
+public class TimedJacksonJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+
+    public TimedJacksonJsonHttpMessageConverter(JsonMapper jsonMapper) {
+        super(jsonMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType, HttpOutputMessage outputMessage,
+                                 @Nullable Map<String, Object> hints) throws IOException {
+        FastByteArrayOutputStream buffer = new FastByteArrayOutputStream();
+        long start = System.nanoTime();
+        super.writeInternal(object, resolvableType, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        }, hints);
+        RequestTimings.serialization(System.nanoTime() - start);
+
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
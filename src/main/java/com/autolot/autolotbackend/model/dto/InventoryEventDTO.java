@@ -0,0 +1,32 @@
+package com.autolot.autolotbackend.model.dto;
+
+import com.autolot.autolotbackend.model.entity.VehicleStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data of one inventory server-sent event. type is "created", "updated", "status" or "deleted"
+ * (vehicleId only), or, with no vehicle fields, "ready" (connected), "reload" (a bulk import) or
+ * "reset" (missed events can't be replayed): on reload/reset the client refetches the inventory.
+ * Storefront streams get "removed" (vehicleId only) instead of "deleted", also when a vehicle
+ * stops being available.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InventoryEventDTO(
+        String type,
+        String vehicleId,
+        VehicleStatus status,
+        String make,
+        String model,
+        Integer year,
+        BigDecimal price,
+        Integer mileage,
+        Boolean featured,
+        LocalDateTime updatedAt
+) {
+    public static InventoryEventDTO of(String type) {
+        return new InventoryEventDTO(type, null, null, null, null, null, null, null, null, null);
+    }
+}
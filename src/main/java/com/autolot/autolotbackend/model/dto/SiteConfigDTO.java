@@ -0,0 +1,20 @@
+package com.autolot.autolotbackend.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * A storefront's theme and layout. The layout is stored validated, so its JSON text is
+ * embedded as is instead of being parsed and re-serialized.
+ */
+public record SiteConfigDTO(
+        String theme,
+        String primaryColor,
+        String secondaryColor,
+        String fontFamily,
+        String customCss,
+        @JsonRawValue String layout,
+        LocalDateTime updatedAt
+) {
+}
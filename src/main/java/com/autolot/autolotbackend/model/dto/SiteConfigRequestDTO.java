@@ -0,0 +1,21 @@
+package com.autolot.autolotbackend.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import tools.jackson.databind.JsonNode;
+
+public record SiteConfigRequestDTO(
+        @NotBlank(message = "theme is required")
+        String theme,
+
+        @NotBlank(message = "primary color is required")
+        String primaryColor,
+
+        String secondaryColor,
+        String fontFamily,
+        String customCss,
+
+        @NotNull(message = "layout is required")
+        JsonNode layout
+) {
+}
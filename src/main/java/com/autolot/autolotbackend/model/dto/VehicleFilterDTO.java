@@ -0,0 +1,19 @@
+package com.autolot.autolotbackend.model.dto;
+
+import com.autolot.autolotbackend.model.entity.VehicleStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional listing filters, bound from query parameters. Null means "don't filter on this".
+ */
+public record VehicleFilterDTO(
+        VehicleStatus status,
+        String make,
+        String model,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Integer maxMileage,
+        Boolean featured
+) {
+}
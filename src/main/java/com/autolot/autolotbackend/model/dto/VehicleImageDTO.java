@@ -0,0 +1,13 @@
+package com.autolot.autolotbackend.model.dto;
+
+/**
+ * One photo of a vehicle, as the resized variants ImageVariantPipeline generated from the upload.
+ */
+public record VehicleImageDTO(
+        String id,
+        String thumbnailUrl,
+        String cardUrl,
+        String fullUrl,
+        boolean primaryPhoto
+) {
+}
@@ -0,0 +1,18 @@
+package com.autolot.autolotbackend.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the NDJSON stream returned by the bulk import:
+ * type "error" (row + message), "progress" (after each batch) or "done" (final totals).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VehicleImportProgressDTO(
+        String type,
+        Long row,
+        String message,
+        Long processed,
+        Long imported,
+        Long failed
+) {
+}
@@ -0,0 +1,13 @@
+package com.autolot.autolotbackend.model.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Pass nextCursor back as ?cursor= to get
+ * the following page; it is null on the last page.
+ */
+public record VehiclePageDTO(
+        List<VehicleResponseDTO> items,
+        String nextCursor
+) {
+}
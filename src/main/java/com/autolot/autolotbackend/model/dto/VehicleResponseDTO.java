@@ -24,7 +24,10 @@ public record VehicleResponseDTO(
         Boolean featured,
         VehicleStatus vehicleStatus,
         List<String> imageUrls,
+        List<VehicleImageDTO> images,
+        String thumbnailUrl,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version
 ) {
 }
@@ -0,0 +1,31 @@
+package com.autolot.autolotbackend.model.dto;
+
+import com.autolot.autolotbackend.model.entity.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Storefront search filters, bound from query parameters. Enum filters accept several values
+ * (?bodyType=SUV&bodyType=SEDAN) and match any of them; null / empty means "don't filter".
+ */
+public record VehicleSearchQuery(
+        Set<VehicleStatus> status,
+        Set<BodyType> bodyType,
+        Set<FuelType> fuelType,
+        Set<Transmission> transmission,
+        Set<VehicleCondition> condition,
+        String make,
+        String model,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Integer minYear,
+        Integer maxYear,
+        Integer maxMileage,
+        Boolean featured
+) {
+    public VehicleSearchQuery withStatus(Set<VehicleStatus> status) {
+        return new VehicleSearchQuery(status, bodyType, fuelType, transmission, condition, make, model,
+                minPrice, maxPrice, minYear, maxYear, maxMileage, featured);
+    }
+}
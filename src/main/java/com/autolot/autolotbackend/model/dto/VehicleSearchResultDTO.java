@@ -0,0 +1,16 @@
+package com.autolot.autolotbackend.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of search results plus facet counts: facet name -> option -> number of matching vehicles.
+ * Each facet is counted with every filter applied except its own, so the UI can show how many
+ * results picking another option would give.
+ */
+public record VehicleSearchResultDTO(
+        List<VehicleResponseDTO> items,
+        int total,
+        Map<String, Map<String, Integer>> facets
+) {
+}
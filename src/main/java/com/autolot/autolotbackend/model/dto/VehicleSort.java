@@ -0,0 +1,7 @@
+package com.autolot.autolotbackend.model.dto;
+
+public enum VehicleSort {
+    NEWEST,
+    PRICE_ASC,
+    PRICE_DESC
+}
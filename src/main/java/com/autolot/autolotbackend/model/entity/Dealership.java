@@ -1,5 +1,6 @@
 package com.autolot.autolotbackend.model.entity;
 
+import com.autolot.autolotbackend.tenant.DealershipSlugCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
@@ -18,6 +19,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(DealershipSlugCacheListener.class)
 public class Dealership {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -2,6 +2,7 @@ package com.autolot.autolotbackend.model.entity;
 
 import jakarta.persistence.*;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.OrderBy;
 import lombok.*;
 import org.hibernate.annotations.*;
 
@@ -17,10 +18,13 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Filter(name = "tenant_id", condition = "tenant_id = :tenant")
+// UPDATEs list only the changed columns: a price edit doesn't rewrite the description text
+@DynamicUpdate
 @FilterDef(name = "tenant_id", parameters = @ParamDef(name = "tenant", type = String.class))
 public class Vehicle extends TenantScoped {
+    // Time-ordered (v7) ids append to the primary key index instead of scattering inserts across it
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private String id;
 
     @Column(nullable = false)
@@ -70,7 +74,13 @@ public class Vehicle extends TenantScoped {
     @Column(nullable = false)
     private VehicleStatus status;
 
+    // Images are loaded for up to 100 vehicles per SELECT (WHERE vehicle_id IN (...)) the first time
+    // any of them is touched, so mapping a page of vehicles costs one extra query instead of one per row
+    // With the tenant filter on, image loads are also restricted to the tenant's partition
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("displayOrder ASC")
+    @BatchSize(size = 100)
+    @Filter(name = "tenant_id", condition = "tenant_id = :tenant")
     private List<VehicleImage> vehicleImages = new ArrayList<>();
 
     @CreationTimestamp
@@ -80,4 +90,8 @@ public class Vehicle extends TenantScoped {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Checked and bumped by every UPDATE; exposed to clients as the ETag
+    @Version
+    private Long version;
+
 }
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class VehicleImage {
+// tenant_id is a copy of the vehicle's, so images are hash-partitioned alongside their vehicle
+public class VehicleImage extends TenantScoped {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -24,6 +25,17 @@ public class VehicleImage {
     @Column(nullable = false)
     private String imageUrl;
 
+    // Resized, metadata-free copies written by ImageVariantPipeline after upload.
+    // Null until the pipeline has processed the original.
+    private String thumbnailUrl;
+
+    private String cardUrl;
+
+    private String fullUrl;
+
+    // Set when the original can't be turned into variants, which takes it out of the backfill
+    private LocalDateTime variantsFailedAt;
+
     private int displayOrder;
 
     @Column(nullable = false)
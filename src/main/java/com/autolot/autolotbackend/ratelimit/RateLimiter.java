@@ -0,0 +1,82 @@
+package com.autolot.autolotbackend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by an arbitrary string (IP, dealership id, email), one per key.
+ *
+ * Each bucket is a single AtomicLong holding the bucket's "theoretical arrival time" (GCRA):
+ * a request is allowed if that time, pushed one emission interval further, is still within the
+ * burst window from now. Acquiring is one CAS, no locks. Keys live in a size-bounded Caffeine
+ * map that forgets idle buckets, so a scan over millions of IPs can't grow the heap.
+ */
+public class RateLimiter {
+
+    public record Decision(boolean allowed, String policy, long limit, long windowSeconds, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    private final String name;
+    private final long limit;
+    private final long windowSeconds;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoTime;
+
+    /**
+     * Allows {@code limit} requests per {@code window} per key, all of which may arrive at once.
+     */
+    public RateLimiter(String name, long limit, Duration window, long maxKeys) {
+        this(name, limit, window, maxKeys, System::nanoTime);
+    }
+
+    // Tests drive the clock by hand
+    RateLimiter(String name, long limit, Duration window, long maxKeys, LongSupplier nanoTime) {
+        this.name = name;
+        this.nanoTime = nanoTime;
+        this.limit = limit;
+        this.windowSeconds = Math.max(1, window.toSeconds());
+        this.emissionIntervalNanos = window.toNanos() / limit;
+        this.burstNanos = emissionIntervalNanos * limit;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                // An idle bucket refills completely within one window, so it's safe to forget
+                .expireAfterAccess(window)
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Decision tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = nanoTime.getAsLong();
+
+        while (true) {
+            long arrival = bucket.get();
+            long start = arrival == Long.MIN_VALUE ? now : Math.max(arrival, now);
+            long next = start + emissionIntervalNanos;
+            long backlog = next - now;
+
+            if (backlog > burstNanos) {
+                long retryAfterNanos = backlog - burstNanos;
+                return new Decision(false, name, limit, windowSeconds, 0, seconds(start - now), Math.max(1, seconds(retryAfterNanos)));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                long remaining = (burstNanos - backlog) / emissionIntervalNanos;
+                return new Decision(true, name, limit, windowSeconds, remaining, seconds(backlog), 0);
+            }
+        }
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+}
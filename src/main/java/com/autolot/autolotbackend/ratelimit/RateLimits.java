@@ -0,0 +1,56 @@
+package com.autolot.autolotbackend.ratelimit;
+
+import com.autolot.autolotbackend.exception.TooManyRequestsException;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * The application's rate limits, configured under app.rate-limit:
+ * per client IP on public and auth endpoints, per dealership on its storefront,
+ * and per email on login (credential stuffing spreads over IPs but not over accounts).
+ */
+@Component
+@Getter
+public class RateLimits {
+
+    private final boolean enabled;
+    private final RateLimiter publicIp;
+    private final RateLimiter authIp;
+    private final RateLimiter dealership;
+    private final RateLimiter loginEmail;
+
+    public RateLimits(
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${app.rate-limit.public-ip.requests:300}") long publicIpRequests,
+            @Value("${app.rate-limit.public-ip.window:1m}") Duration publicIpWindow,
+            @Value("${app.rate-limit.auth-ip.requests:20}") long authIpRequests,
+            @Value("${app.rate-limit.auth-ip.window:1m}") Duration authIpWindow,
+            @Value("${app.rate-limit.dealership.requests:3000}") long dealershipRequests,
+            @Value("${app.rate-limit.dealership.window:1m}") Duration dealershipWindow,
+            @Value("${app.rate-limit.login-email.requests:5}") long loginEmailRequests,
+            @Value("${app.rate-limit.login-email.window:5m}") Duration loginEmailWindow
+    ) {
+        this.enabled = enabled;
+        this.publicIp = new RateLimiter("ip", publicIpRequests, publicIpWindow, maxKeys);
+        this.authIp = new RateLimiter("auth-ip", authIpRequests, authIpWindow, maxKeys);
+        this.dealership = new RateLimiter("dealership", dealershipRequests, dealershipWindow, maxKeys);
+        this.loginEmail = new RateLimiter("login-email", loginEmailRequests, loginEmailWindow, maxKeys);
+    }
+
+    /**
+     * Throws a 429 once an email has had too many login attempts, whoever makes them.
+     */
+    public void checkLogin(String email) {
+        if (!enabled || email == null) return;
+        RateLimiter.Decision decision = loginEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (!decision.allowed()) {
+            throw new TooManyRequestsException("Too many login attempts for this account, please retry later",
+                    decision.retryAfterSeconds());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +18,8 @@ public interface DealershipRepository extends JpaRepository<Dealership, String>
      */
     Optional<Dealership> findByEmail(String email);
 
+    // Read-only so subdomain lookups can be served by a read replica
+    @Transactional(readOnly = true)
     Optional<Dealership> findBySlug(String slug);
 
     /**
@@ -25,7 +28,9 @@ public interface DealershipRepository extends JpaRepository<Dealership, String>
     boolean existsByEmail(String email);
 
     /**
-     * Search customers by name or email
+     * Search customers by name or email (case-insensitive substring). Served by the trigram
+     * indexes on lower(name) and lower(email) from V4__dealership_trigram_search.sql, so keep
+     * the LOWER(...) expressions as they are.
      */
     @Query("SELECT d FROM Dealership d " +
             "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
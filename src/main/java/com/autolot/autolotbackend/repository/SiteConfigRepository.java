@@ -2,9 +2,32 @@ package com.autolot.autolotbackend.repository;
 
 import com.autolot.autolotbackend.model.entity.SiteConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface SiteConfigRepository extends JpaRepository<SiteConfig, String> {
     Optional<SiteConfig>findByDealership_Id(String dealershipId);
+
+    /**
+     * Replaces the layout section with the given id in place (jsonb_set), without reading the
+     * layout into the application. Returns 0 when the tenant has no such section.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE site_config c
+            SET layout_json = jsonb_set(c.layout_json, ARRAY['sections', s.idx::text], CAST(:section AS jsonb)),
+                updated_at = now()
+            FROM (SELECT e.ordinality - 1 AS idx
+                  FROM site_config sc,
+                       jsonb_array_elements(sc.layout_json -> 'sections') WITH ORDINALITY AS e(section, ordinality)
+                  WHERE sc.tenant_id = :dealershipId AND e.section ->> 'id' = :sectionId
+                  LIMIT 1) s
+            WHERE c.tenant_id = :dealershipId
+            """, nativeQuery = true)
+    int updateLayoutSection(@Param("dealershipId") String dealershipId,
+                            @Param("sectionId") String sectionId,
+                            @Param("section") String section);
 }
@@ -1,10 +1,71 @@
 package com.autolot.autolotbackend.repository;
 
 import com.autolot.autolotbackend.model.entity.VehicleImage;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface VehicleImageRepository extends JpaRepository<VehicleImage, String> {
     List<VehicleImage> findByVehicle_IdOrderByDisplayOrderAsc(String vehicleId);
+
+    /**
+     * Images created before the given time that the pipeline hasn't produced variants for (and
+     * hasn't given up on), oldest first. Runs across all tenants (backfill has no tenant context).
+     */
+    @Query("SELECT i FROM VehicleImage i WHERE i.thumbnailUrl IS NULL AND i.variantsFailedAt IS NULL " +
+            "AND i.createdAt < :before ORDER BY i.createdAt, i.id")
+    List<VehicleImage> findMissingVariants(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * The next page of {@link #findMissingVariants}, after the last image of the previous one.
+     * Keyset rather than OFFSET: rows leaving the result between pages don't shift later ones past us.
+     */
+    @Query("SELECT i FROM VehicleImage i WHERE i.thumbnailUrl IS NULL AND i.variantsFailedAt IS NULL " +
+            "AND i.createdAt < :before " +
+            "AND (i.createdAt > :afterCreatedAt OR (i.createdAt = :afterCreatedAt AND i.id > :afterId)) " +
+            "ORDER BY i.createdAt, i.id")
+    List<VehicleImage> findMissingVariantsAfter(@Param("before") LocalDateTime before,
+                                                @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                @Param("afterId") String afterId,
+                                                Pageable pageable);
+
+    /**
+     * Marks an image whose original can't be turned into variants, so the backfill stops picking it up.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VehicleImage i SET i.variantsFailedAt = :failedAt WHERE i.id = :id AND i.dealership.id = :dealershipId")
+    int markVariantsFailed(@Param("dealershipId") String dealershipId,
+                           @Param("id") String id,
+                           @Param("failedAt") LocalDateTime failedAt);
+
+    /**
+     * Records generated variants without loading the image (or its vehicle) first.
+     * The dealership id lets Postgres go straight to the tenant's partition.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE VehicleImage i SET i.thumbnailUrl = :thumbnailUrl, i.cardUrl = :cardUrl, i.fullUrl = :fullUrl " +
+            "WHERE i.id = :id AND i.dealership.id = :dealershipId")
+    int updateVariants(@Param("dealershipId") String dealershipId,
+                       @Param("id") String id,
+                       @Param("thumbnailUrl") String thumbnailUrl,
+                       @Param("cardUrl") String cardUrl,
+                       @Param("fullUrl") String fullUrl);
+
+    /**
+     * Bumps the version of the image's vehicle, so conditional GETs (ETag = version) see new variants.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Vehicle v SET v.version = v.version + 1 " +
+            "WHERE v.dealership.id = :dealershipId " +
+            "AND v.id IN (SELECT i.vehicle.id FROM VehicleImage i WHERE i.id = :imageId AND i.dealership.id = :dealershipId)")
+    int incrementVehicleVersion(@Param("dealershipId") String dealershipId, @Param("imageId") String imageId);
 }
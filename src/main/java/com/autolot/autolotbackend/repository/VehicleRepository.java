@@ -2,16 +2,36 @@ package com.autolot.autolotbackend.repository;
 
 import com.autolot.autolotbackend.model.entity.Vehicle;
 import com.autolot.autolotbackend.model.entity.VehicleStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface VehicleRepository extends JpaRepository<Vehicle, String> {
+public interface VehicleRepository extends JpaRepository<Vehicle, String>, JpaSpecificationExecutor<Vehicle> {
 
     Optional<Vehicle> findByVin(String vin);
 
+    Optional<Vehicle> findByIdAndDealership_Id(String id, String dealershipId);
+
+    List<Vehicle> findByDealership_Id(String dealershipId);
+
+    // Server-side cursor: the driver pulls rows 500 at a time instead of buffering the whole
+    // result (PostgreSQL only honours the fetch size inside a transaction)
+    @Query("SELECT v FROM Vehicle v WHERE v.dealership.id = :dealershipId ORDER BY v.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Vehicle> streamByDealershipId(@Param("dealershipId") String dealershipId);
+
     List<Vehicle> findByStatus(VehicleStatus status);
 
     List<Vehicle> findByFeaturedTrue();
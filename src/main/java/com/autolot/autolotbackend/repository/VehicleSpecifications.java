@@ -0,0 +1,46 @@
+package com.autolot.autolotbackend.repository;
+
+import com.autolot.autolotbackend.model.dto.VehicleFilterDTO;
+import com.autolot.autolotbackend.model.entity.Vehicle;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class VehicleSpecifications {
+
+    /**
+     * Combines the same filters the derived finders in {@link VehicleRepository} offer,
+     * so they can be used together and with keyset scrolling.
+     */
+    public static Specification<Vehicle> matching(VehicleFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.make() != null && !filter.make().isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("make")), filter.make().toLowerCase()));
+            }
+            if (filter.model() != null && !filter.model().isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("model")), filter.model().toLowerCase()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+            }
+            if (filter.maxMileage() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("mileage"), filter.maxMileage()));
+            }
+            if (filter.featured() != null) {
+                predicates.add(cb.equal(root.get("featured"), filter.featured()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.autolot.autolotbackend.security;
 
+import com.autolot.autolotbackend.metrics.RequestTimings;
 import com.autolot.autolotbackend.tenant.TenantContext;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
@@ -29,28 +30,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        // Everything up to handing over to the next filter (including verification) counts as this filter's time
+        FilterChain chain = RequestTimings.timeFilter("jwt", filterChain);
+
         final String authHeader = request.getHeader("Authorization");
 
         // If there's no header or it doesn't start with "Bearer ", skip this filter.
         // This allows public endpoints to pass through without any JWT processing.
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
+            chain.doFilter(request, response);
             return;
         }
 
         // Extract the token string (everything after "Bearer ")
         final String jwt = authHeader.substring(7);
 
-        // Validate the token (checks signature, expiration, format).
+        // Verify the token once (signature, expiration, format) and get its claims back
+        // (userId, dealershipId, email, role). Repeat requests with the same token are
+        // answered from JwtUtil's verified-token cache.
         // If invalid, we don't authenticate — just let the request continue.
         // Spring Security will reject it later if the endpoint requires auth.
-        if (!jwtService.validateJwtToken(jwt)) {
-            filterChain.doFilter(request, response);
+        JwtVerification verification = jwtService.verify(jwt);
+        if (!verification.isValid()) {
+            chain.doFilter(request, response);
             return;
         }
 
-        // Token is valid — extract the claims (userId, dealershipId, email, role)
-        Claims claims = jwtService.extractClaims(jwt);
+        Claims claims = verification.claims();
 
         // Only set authentication if no one else has already authenticated this request
         if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -67,9 +73,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // Set the TenantContext from the JWT (overrides or sets for the first time)
-            TenantContext.setDealershipId(jwtDealershipId);
-
             // Create a Spring Security authentication token.
             // - principal (arg 1): the userId from the JWT subject — identifies WHO is making the request
             // - credentials (arg 2): null — we don't need a password, the JWT already proved identity
@@ -84,10 +87,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // knows this request is authenticated. Controllers can access the principal via
             // SecurityContextHolder.getContext().getAuthentication()
             SecurityContextHolder.getContext().setAuthentication(authToken);
+
+            // Bind the TenantContext from the JWT (overrides or sets for the first time)
+            // for the rest of the chain
+            RequestTimings.dealership(jwtDealershipId);
+            TenantContext.runWithDealershipId(jwtDealershipId, () -> chain.doFilter(request, response));
+            return;
         }
 
         // Always continue the filter chain — pass the request to the next filter
         // and eventually to the controller. Without this, the request would hang.
-        filterChain.doFilter(request, response);
+        chain.doFilter(request, response);
     }
 }
@@ -1,29 +1,57 @@
 package com.autolot.autolotbackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class JwtUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
     private SecretKey key;
 
+    // JwtParser is immutable and thread-safe, so build it once instead of per call
+    private JwtParser parser;
+
+    // SHA-256(token) -> verified claims. Each entry lives until the token's own "exp",
+    // so a cached token can never outlive its validity.
+    private Cache<String, Claims> verifiedTokens;
+
     @PostConstruct
     public void init(){
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(Expiry.<String, Claims>creating((digest, claims) ->
+                        Duration.between(Instant.now(), claims.getExpiration().toInstant())))
+                .build();
     }
 
     public String generateToken(String userId, String dealershipId, String email, String role){
@@ -38,29 +66,62 @@ public class JwtUtil {
                 .compact();
     }
 
-    public Claims extractClaims(String token){
-        return Jwts.parser()
-                .verifyWith(key).build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+    /**
+     * Verifies the token at most once per distinct token: signature, expiry and claims parsing
+     * happen on the first sighting and later requests with the same token hit the cache.
+     */
+    public JwtVerification verify(String token){
+        if (token == null || token.isBlank()) {
+            return JwtVerification.invalid(JwtVerification.Failure.EMPTY);
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return JwtVerification.valid(cached);
+        }
 
-    public boolean validateJwtToken(String token){
         try{
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        }catch (SecurityException e){
-            System.out.println("Invalid JWT signature " + e.getMessage());
-        }catch (MalformedJwtException e){
-            System.out.println("Invalid JWT token: " + e.getMessage());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            // Tokens without "exp" are never cached - we'd have no bound on how long to trust them
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            return JwtVerification.valid(claims);
         }catch (ExpiredJwtException e){
-            System.out.println("JWT token is expired: " + e.getMessage());
+            log.debug("JWT token is expired: {}", e.getMessage());
+            return JwtVerification.invalid(JwtVerification.Failure.EXPIRED);
+        }catch (io.jsonwebtoken.security.SecurityException e){
+            log.debug("Invalid JWT signature: {}", e.getMessage());
+            return JwtVerification.invalid(JwtVerification.Failure.INVALID_SIGNATURE);
         }catch (UnsupportedJwtException e){
-            System.out.println("JWT token is unsupported: " + e.getMessage());
+            log.debug("JWT token is unsupported: {}", e.getMessage());
+            return JwtVerification.invalid(JwtVerification.Failure.UNSUPPORTED);
+        }catch (JwtException e){
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return JwtVerification.invalid(JwtVerification.Failure.MALFORMED);
         }catch (IllegalArgumentException e){
-            System.out.println("JWT claims string is empty: " + e.getMessage());
+            log.debug("JWT claims string is empty: {}", e.getMessage());
+            return JwtVerification.invalid(JwtVerification.Failure.EMPTY);
         }
+    }
+
+    public Claims extractClaims(String token){
+        JwtVerification verification = verify(token);
+        return verification.isValid() ? verification.claims() : null;
+    }
 
-        return false;
+    public boolean validateJwtToken(String token){
+        return verify(token).isValid();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,29 @@
+package com.autolot.autolotbackend.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of verifying a JWT once: either the verified claims or the reason it was rejected.
+ */
+public record JwtVerification(Claims claims, Failure failure) {
+
+    public enum Failure {
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        EMPTY
+    }
+
+    public static JwtVerification valid(Claims claims) {
+        return new JwtVerification(claims, null);
+    }
+
+    public static JwtVerification invalid(Failure failure) {
+        return new JwtVerification(null, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+}
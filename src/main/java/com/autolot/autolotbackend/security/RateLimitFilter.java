@@ -0,0 +1,84 @@
+package com.autolot.autolotbackend.security;
+
+import com.autolot.autolotbackend.metrics.RequestTimings;
+import com.autolot.autolotbackend.ratelimit.RateLimiter;
+import com.autolot.autolotbackend.ratelimit.RateLimits;
+import com.autolot.autolotbackend.service.FileUpload.HandleFileUpload;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Throttles /api/public/** per client IP and /api/auth/** per client IP. Storefront searches,
+ * which always go to the database, are also limited per dealership across all clients; the other
+ * public endpoints are answered from caches (a miss loads once per key), so a storefront-wide
+ * limit there would only turn away shoppers. Images are static, immutable files and aren't
+ * limited at all: one listing page fetches dozens of thumbnails.
+ * Runs after SubdomainTenantFilter so the storefront's dealership is known.
+ *
+ * Every limited response carries RateLimit-Policy / RateLimit headers (IETF httpapi draft) for the
+ * tightest applicable limit; rejections are 429 with Retry-After.
+ * The client IP is the connection's remote address; behind a proxy set
+ * server.forward-headers-strategy so it reflects X-Forwarded-For.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEALERSHIP_LIMITED_PATH = "/api/public/vehicles/search";
+
+    private final RateLimits rateLimits;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        FilterChain chain = RequestTimings.timeFilter("rate-limit", filterChain);
+
+        String path = request.getRequestURI();
+        RateLimiter.Decision decision = null;
+        if (path.startsWith("/api/public/") && !path.startsWith(HandleFileUpload.PUBLIC_IMAGE_PATH)) {
+            decision = rateLimits.getPublicIp().tryAcquire(request.getRemoteAddr());
+            String dealershipId = TenantContext.getDealershipId();
+            if (decision.allowed() && dealershipId != null && path.startsWith(DEALERSHIP_LIMITED_PATH)) {
+                decision = tightest(decision, rateLimits.getDealership().tryAcquire(dealershipId));
+            }
+        } else if (path.startsWith("/api/auth/")) {
+            decision = rateLimits.getAuthIp().tryAcquire(request.getRemoteAddr());
+        }
+
+        if (decision != null) {
+            response.setHeader("RateLimit-Policy", "\"%s\";q=%d;w=%d".formatted(decision.policy(), decision.limit(), decision.windowSeconds()));
+            response.setHeader("RateLimit", "\"%s\";r=%d;t=%d".formatted(decision.policy(), decision.remaining(), decision.resetSeconds()));
+            if (!decision.allowed()) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+                return;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimits.isEnabled();
+    }
+
+    private static RateLimiter.Decision tightest(RateLimiter.Decision a, RateLimiter.Decision b) {
+        if (!b.allowed()) return b;
+        return b.remaining() < a.remaining() ? b : a;
+    }
+}
@@ -1,7 +1,7 @@
 package com.autolot.autolotbackend.security;
 
-import com.autolot.autolotbackend.model.entity.Dealership;
-import com.autolot.autolotbackend.repository.DealershipRepository;
+import com.autolot.autolotbackend.metrics.RequestTimings;
+import com.autolot.autolotbackend.tenant.DealershipSlugCache;
 import com.autolot.autolotbackend.tenant.TenantContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -19,7 +19,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SubdomainTenantFilter extends OncePerRequestFilter {
 
-    private final DealershipRepository dealershipRepository;
+    private final DealershipSlugCache dealershipSlugCache;
 
     @Override
     protected void doFilterInternal(
@@ -28,30 +28,31 @@ public class SubdomainTenantFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
             ) throws ServletException, IOException {
 
-        try {
-            String slug = getSubdomainSlug(request);
-
-            // No subdomain (e.g. localhost:8080 or autolot.com) — skip tenant resolution
-            // and let the request continue without a tenant context
-            if (slug != null) {
-                Optional<Dealership> dealership = dealershipRepository.findBySlug(slug);
-
-                if (dealership.isEmpty()) {
-                    response.sendError(HttpServletResponse.SC_NOT_FOUND, "Dealership not found");
-                    return;
-                }
-
-                TenantContext.setDealershipId(dealership.get().getId());
-            }
-
-            filterChain.doFilter(request, response);
-        } finally {
-            // Always clear the TenantContext after the request completes.
-            // ThreadLocal values persist on the thread, and servlet containers
-            // reuse threads — without this, a subsequent request on the same thread
-            // could see the previous request's dealership ID.
-            TenantContext.clear();
+        // Everything up to handing over to the next filter counts as this filter's time
+        FilterChain chain = RequestTimings.timeFilter("subdomain", filterChain);
+
+        String slug = getSubdomainSlug(request);
+
+        // No subdomain (e.g. localhost:8080 or autolot.com) — skip tenant resolution
+        // and let the request continue without a tenant context
+        if (slug == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Served from an in-process cache; only the first request per slug
+        // (or the first after expiry/eviction) goes to the database
+        Optional<String> dealershipId = dealershipSlugCache.resolve(slug);
+
+        if (dealershipId.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Dealership not found");
+            return;
         }
+
+        // The dealership id is bound only while the rest of the chain runs,
+        // so nothing has to remember to clear it afterwards
+        RequestTimings.dealership(dealershipId.get());
+        TenantContext.runWithDealershipId(dealershipId.get(), () -> chain.doFilter(request, response));
     }
 
     public String getSubdomainSlug(HttpServletRequest request) {
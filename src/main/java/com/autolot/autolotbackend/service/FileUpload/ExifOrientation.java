@@ -0,0 +1,123 @@
+package com.autolot.autolotbackend.service.FileUpload;
+
+import java.awt.geom.AffineTransform;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * EXIF Orientation tag of a JPEG. Phones store photos in sensor orientation and record how to
+ * turn them in this tag; ImageIO ignores it, so the pipeline applies it before scaling.
+ */
+final class ExifOrientation {
+
+    static final int NORMAL = 1;
+
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int SHORT = 3;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * The orientation (1-8) recorded in the file, or {@link #NORMAL} when it isn't a JPEG,
+     * has no EXIF block or the block can't be parsed.
+     */
+    static int read(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return NORMAL;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // Start of scan / end of image: no metadata segments follow
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return NORMAL;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return NORMAL;
+                }
+                if (marker == 0xFFE1) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    int orientation = fromApp1(segment);
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    skipFully(in, length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return NORMAL;
+        }
+    }
+
+    /**
+     * Orientations 5-8 turn the image by a quarter, so its displayed width is the stored height.
+     */
+    static boolean swapsDimensions(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /**
+     * Maps stored pixel coordinates of a width x height image to displayed ones.
+     */
+    static AffineTransform transform(int orientation, int width, int height) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);        // mirrored horizontally
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);  // upside down
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);       // mirrored vertically
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);             // transposed
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);       // turned a quarter clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);  // transversed
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);        // turned a quarter anticlockwise
+            default -> new AffineTransform();
+        };
+    }
+
+    // "Exif\0\0" followed by a TIFF header and IFD0, where the orientation lives; 0 when absent
+    private static int fromApp1(byte[] segment) {
+        if (segment.length < 14
+                || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f'
+                || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 0;
+        }
+
+        int ifd = tiff.getInt(4);
+        int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG
+                    && Short.toUnsignedInt(tiff.getShort(entry + 2)) == SHORT) {
+                int orientation = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                return orientation >= 1 && orientation <= 8 ? orientation : NORMAL;
+            }
+        }
+        return 0;
+    }
+
+    private static void skipFully(InputStream in, int count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) throw new EOFException();
+                skipped = 1;
+            }
+            count -= (int) skipped;
+        }
+    }
+}
@@ -1,23 +1,60 @@
 package com.autolot.autolotbackend.service.FileUpload;
 
+import com.autolot.autolotbackend.exception.BadRequestException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Service
 public class HandleFileUpload {
 
+    public static final String PUBLIC_IMAGE_PATH = "/api/public/images/";
+
+    private static final Pattern SAFE_SEGMENT = Pattern.compile("^[A-Za-z0-9-]+$");
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("^[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)?$");
+
     @Value("${app.upload-dir}")
     private String uploadDirectory;
 
-    public void storeFiles(MultipartFile[] files, String dealerShipSlug, String vehicleId) throws IOException {
+    /**
+     * URL a stored file is served under: /api/public/images/{slug}/{vehicleId}/{fileName}
+     */
+    public static String publicUrl(Path storedFile) {
+        Path vehicleFolder = storedFile.getParent();
+        Path dealershipFolder = vehicleFolder.getParent();
+        return PUBLIC_IMAGE_PATH + dealershipFolder.getFileName() + "/" + vehicleFolder.getFileName() + "/" + storedFile.getFileName();
+    }
+
+    /**
+     * Stores the originals and returns the path of each stored file, in upload order. Rejects the
+     * whole upload, before anything is written, if a file isn't an image the variant pipeline can
+     * decode (HEIC and WebP aren't): it would be stored but never get variants, so never show.
+     */
+    public List<Path> storeFiles(MultipartFile[] files, String dealerShipSlug, String vehicleId) throws IOException {
+        for (MultipartFile file : files) {
+            if (!file.isEmpty() && !isDecodableImage(file)) {
+                throw new BadRequestException("Unsupported image format: " + file.getOriginalFilename()
+                        + " (upload JPEG, PNG, GIF or BMP)");
+            }
+        }
+
+        List<Path> storedFiles = new ArrayList<>();
 
         // 1. Define the specific target directory for this vehicle
         // This creates: ./uploads/toyota-city/v123/
@@ -41,8 +78,64 @@ public class HandleFileUpload {
 
                 // 5. Save the file
                 file.transferTo(destinationFile);
+                storedFiles.add(destinationFile);
+            }
+        }
+
+        return storedFiles;
+    }
+
+    // An ImageIO reader recognises the format and can parse the header; cheap compared to
+    // decoding the pixels, which the pipeline does later
+    private static boolean isDecodableImage(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream();
+             ImageInputStream image = ImageIO.createImageInputStream(in)) {
+            if (image == null) return false;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(image);
+            if (!readers.hasNext()) return false;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(image, true, true);
+                return reader.getWidth(0) > 0 && reader.getHeight(0) > 0;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            } finally {
+                reader.dispose();
             }
         }
     }
 
+    /**
+     * Resolves a stored file from the URL {@link #publicUrl} gave it.
+     */
+    public Optional<Path> resolvePublicUrl(String url) {
+        if (url == null || !url.startsWith(PUBLIC_IMAGE_PATH)) {
+            return Optional.empty();
+        }
+        String[] segments = url.substring(PUBLIC_IMAGE_PATH.length()).split("/");
+        if (segments.length != 3) {
+            return Optional.empty();
+        }
+        return resolveStoredFile(segments[0], segments[1], segments[2]);
+    }
+
+    /**
+     * Resolves a stored file from its URL segments, refusing anything that could escape the
+     * upload directory (dots, slashes, encoded separators).
+     */
+    public Optional<Path> resolveStoredFile(String dealerShipSlug, String vehicleId, String fileName) {
+        if (!SAFE_SEGMENT.matcher(dealerShipSlug).matches()
+                || !SAFE_SEGMENT.matcher(vehicleId).matches()
+                || !SAFE_FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+
+        Path root = Paths.get(uploadDirectory).toAbsolutePath().normalize();
+        Path file = root.resolve(dealerShipSlug).resolve(vehicleId).resolve(fileName).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
 }
@@ -0,0 +1,9 @@
+package com.autolot.autolotbackend.service.FileUpload;
+
+import java.nio.file.Path;
+
+/**
+ * Published once an uploaded original has been written and its VehicleImage row saved.
+ */
+public record ImageStoredEvent(String dealershipId, String imageId, Path original) {
+}
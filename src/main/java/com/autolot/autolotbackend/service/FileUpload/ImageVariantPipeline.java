@@ -0,0 +1,277 @@
+package com.autolot.autolotbackend.service.FileUpload;
+
+import com.autolot.autolotbackend.model.entity.VehicleImage;
+import com.autolot.autolotbackend.repository.VehicleImageRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Generates resized JPEG variants (thumbnail, card, full) for uploaded vehicle photos.
+ *
+ * Work runs on a small bounded pool so uploads return as soon as the original is stored and
+ * image decoding can't take CPU away from request threads. When the queue is full the upload is
+ * left for the backfill pass, which every backfill-interval picks up images that still have no
+ * variants (queue overflow, a restart mid-job) while the queue has room. Originals are never
+ * published; an image appears in the API once its variants exist.
+ */
+@Service
+public class ImageVariantPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantPipeline.class);
+
+    private static final Pattern VARIANT_FILE = Pattern.compile(".+-(thumb|card|full)\\.jpg");
+    private static final int BACKFILL_BATCH = 100;
+
+    enum Variant {
+        THUMBNAIL("thumb", 320, 0.75f),
+        CARD("card", 800, 0.8f),
+        FULL("full", 1920, 0.85f);
+
+        final String suffix;
+        final int maxWidth;
+        final float quality;
+
+        Variant(String suffix, int maxWidth, float quality) {
+            this.suffix = suffix;
+            this.maxWidth = maxWidth;
+            this.quality = quality;
+        }
+    }
+
+    private final VehicleImageRepository vehicleImageRepository;
+    private final HandleFileUpload handleFileUpload;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService backfills;
+    private final Duration backfillInterval;
+    // Images the backfill already queued, so one still in the queue or failing for a passing reason
+    // (disk full, database down) isn't re-queued every pass; permanent failures are marked in the row
+    private final Cache<String, Boolean> backfilled;
+
+    public ImageVariantPipeline(
+            VehicleImageRepository vehicleImageRepository,
+            HandleFileUpload handleFileUpload,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.image-pipeline.threads:0}") int threads,
+            @Value("${app.image-pipeline.queue-capacity:200}") int queueCapacity,
+            @Value("${app.image-pipeline.backfill-interval:5m}") Duration backfillInterval,
+            @Value("${app.image-pipeline.backfill-retry:1h}") Duration backfillRetry
+    ) {
+        this.vehicleImageRepository = vehicleImageRepository;
+        this.handleFileUpload = handleFileUpload;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillInterval = backfillInterval;
+        this.backfilled = Caffeine.newBuilder()
+                .expireAfterWrite(backfillRetry)
+                .maximumSize(100_000)
+                .build();
+
+        // 0 = half the cores, leaving the rest for request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-pipeline-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.backfills = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("image-pipeline-backfill")
+                .daemon(true)
+                .factory());
+        backfills.scheduleWithFixedDelay(this::backfill, backfillInterval.toMillis(), backfillInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether a stored file name is one of the generated variants (as opposed to an original upload).
+     */
+    public static boolean isVariant(String fileName) {
+        return VARIANT_FILE.matcher(fileName).matches();
+    }
+
+    // Only after commit: the VehicleImage row has to exist before we can record variants on it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageStored(ImageStoredEvent event) {
+        try {
+            executor.execute(() -> process(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image pipeline saturated, leaving image {} to the backfill pass", event.imageId());
+        }
+    }
+
+    /**
+     * Queues images that are older than one backfill interval and still have no variants, until
+     * the queue is full; the rest wait for the next pass.
+     */
+    void backfill() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minus(backfillInterval);
+            VehicleImage last = null;
+            while (executor.getQueue().remainingCapacity() > 0) {
+                List<VehicleImage> missing = last == null
+                        ? vehicleImageRepository.findMissingVariants(before, PageRequest.ofSize(BACKFILL_BATCH))
+                        : vehicleImageRepository.findMissingVariantsAfter(before, last.getCreatedAt(), last.getId(), PageRequest.ofSize(BACKFILL_BATCH));
+                if (missing.isEmpty()) {
+                    return;
+                }
+                last = missing.getLast();
+                for (VehicleImage image : missing) {
+                    if (backfilled.getIfPresent(image.getId()) != null) continue;
+                    Optional<Path> original = handleFileUpload.resolvePublicUrl(image.getImageUrl());
+                    if (original.isEmpty()) {
+                        log.warn("Original of image {} is missing, can't generate variants", image.getId());
+                        vehicleImageRepository.markVariantsFailed(image.getDealership().getId(), image.getId(), LocalDateTime.now());
+                        continue;
+                    }
+                    ImageStoredEvent event = new ImageStoredEvent(image.getDealership().getId(), image.getId(), original.get());
+                    try {
+                        executor.execute(() -> process(event));
+                    } catch (RejectedExecutionException e) {
+                        return;
+                    }
+                    backfilled.put(image.getId(), Boolean.TRUE);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Don't let one failed pass cancel the schedule
+            log.error("Image variant backfill failed", e);
+        }
+    }
+
+    void process(ImageStoredEvent event) {
+        String imageId = event.imageId();
+        Path original = event.original();
+        try {
+            BufferedImage source;
+            try {
+                source = ImageIO.read(original.toFile());
+            } catch (IIOException e) {
+                source = null; // corrupt, or no longer readable: retrying won't help
+            }
+            if (source == null) {
+                log.warn("Can't decode {}, giving up on variants for image {}", original, imageId);
+                vehicleImageRepository.markVariantsFailed(event.dealershipId(), imageId, LocalDateTime.now());
+                return;
+            }
+            int orientation = ExifOrientation.read(original);
+
+            String baseName = stripExtension(original.getFileName().toString());
+            String[] urls = new String[Variant.values().length];
+            for (Variant variant : Variant.values()) {
+                Path target = original.resolveSibling(baseName + "-" + variant.suffix + ".jpg");
+                writeJpeg(resize(source, orientation, variant.maxWidth), target, variant.quality);
+                urls[variant.ordinal()] = HandleFileUpload.publicUrl(target);
+            }
+
+            // The bulk update skips @Version, so bump the vehicle's version with it: responses embed
+            // the image URLs, and clients revalidating with the old ETag must not get a 304
+            transactionTemplate.executeWithoutResult(status -> {
+                vehicleImageRepository.updateVariants(event.dealershipId(), imageId,
+                        urls[Variant.THUMBNAIL.ordinal()], urls[Variant.CARD.ordinal()], urls[Variant.FULL.ordinal()]);
+                vehicleImageRepository.incrementVehicleVersion(event.dealershipId(), imageId);
+            });
+            eventPublisher.publishEvent(new ImageVariantsReadyEvent(event.dealershipId(), imageId));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to generate variants for image {}", imageId, e);
+        }
+    }
+
+    /**
+     * Turns the image upright per its EXIF orientation and scales it down to maxWidth (never up)
+     * into a plain RGB image, in one pass. Drawing into a fresh raster drops alpha and every piece
+     * of source metadata (EXIF, GPS, ICC comments).
+     */
+    private static BufferedImage resize(BufferedImage source, int orientation, int maxWidth) {
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+        int uprightWidth = swap ? source.getHeight() : source.getWidth();
+        int uprightHeight = swap ? source.getWidth() : source.getHeight();
+        int width = Math.min(uprightWidth, maxWidth);
+        int height = (int) Math.round((double) uprightHeight * width / uprightWidth);
+
+        BufferedImage target = new BufferedImage(width, Math.max(height, 1), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, target.getWidth(), target.getHeight());
+            graphics.scale((double) target.getWidth() / uprightWidth, (double) target.getHeight() / uprightHeight);
+            graphics.transform(ExifOrientation.transform(orientation, source.getWidth(), source.getHeight()));
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(quality);
+        params.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        // Write to a temp file and move into place so a half-written variant is never served
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), params);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfills.shutdownNow();
+        executor.shutdown();
+    }
+}
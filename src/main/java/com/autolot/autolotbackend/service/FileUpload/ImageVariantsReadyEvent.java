@@ -0,0 +1,7 @@
+package com.autolot.autolotbackend.service.FileUpload;
+
+/**
+ * Published by {@link ImageVariantPipeline} once an image's resized variants are recorded.
+ */
+public record ImageVariantsReadyEvent(String dealershipId, String imageId) {
+}
@@ -9,6 +9,7 @@ import com.autolot.autolotbackend.model.entity.AdminRole;
 import com.autolot.autolotbackend.model.entity.AdminUser;
 import com.autolot.autolotbackend.model.entity.Dealership;
 import com.autolot.autolotbackend.model.entity.SiteConfig;
+import com.autolot.autolotbackend.ratelimit.RateLimits;
 import com.autolot.autolotbackend.repository.AdminUserRepository;
 import com.autolot.autolotbackend.repository.DealershipRepository;
 import com.autolot.autolotbackend.repository.SiteConfigRepository;
@@ -27,6 +28,7 @@ public class AuthService {
     private final SiteConfigRepository siteConfigRepository;
     private final PasswordService passwordService;
     private final JwtUtil jwtUtil;
+    private final RateLimits rateLimits;
 
     @Transactional
     public AuthResponse signup(SignupRequest request)  {
@@ -73,13 +75,28 @@ public class AuthService {
     }
 
     public AuthResponse login(LoginRequest request){
-        AdminUser adminUser = adminUserRepository.findByEmail(request.email())
-                .orElseThrow(() -> new InvalidLoginException("Invalid email or password"));
+        rateLimits.checkLogin(request.email());
+
+        AdminUser adminUser = adminUserRepository.findByEmail(request.email()).orElse(null);
+
+        // Unknown emails still pay for a bcrypt verification, so response time doesn't reveal
+        // which addresses have accounts
+        if(adminUser == null){
+            passwordService.verifyDummy(request.password());
+            throw new InvalidLoginException("Invalid email or password");
+        }
 
         if(!passwordService.verifyPassword(request.password(), adminUser.getHashedPassword())){
             throw new InvalidLoginException("Invalid email or password");
         }
 
+        // The plaintext is only available here, so this is where hashes made with an older
+        // (lower) work factor get upgraded to the configured one
+        if(passwordService.needsRehash(adminUser.getHashedPassword())){
+            adminUser.setHashedPassword(passwordService.hashPassword(request.password()));
+            adminUserRepository.save(adminUser);
+        }
+
         String token = jwtUtil.generateToken(
                 adminUser.getId(),
                 adminUser.getDealership().getId(),
@@ -0,0 +1,82 @@
+package com.autolot.autolotbackend.service.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A fully serialized JSON body, kept both plain and gzip-compressed, with a strong ETag per encoding.
+ */
+public record CachedResponse(byte[] json, byte[] gzip, String etag) {
+
+    /**
+     * Compresses the body once and derives its ETag from the content.
+     */
+    public static CachedResponse of(byte[] json) {
+        return new CachedResponse(json, gzip(json), etag(json));
+    }
+
+    public String gzipEtag() {
+        // Different bytes need a different strong validator
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    public int weight() {
+        return json.length + gzip.length + 128;
+    }
+
+    /**
+     * Builds the response for one request: 304 if the client already has this version,
+     * otherwise the gzip body when the client accepts it and the plain body when not.
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch, String acceptEncoding, String cacheControl) {
+        boolean useGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String currentEtag = useGzip ? gzipEtag() : etag;
+
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.contains(gzipEtag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(currentEtag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(currentEtag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        return useGzip
+                ? builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip)
+                : builder.body(json);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
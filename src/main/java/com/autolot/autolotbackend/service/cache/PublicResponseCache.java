@@ -0,0 +1,114 @@
+package com.autolot.autolotbackend.service.cache;
+
+import com.autolot.autolotbackend.metrics.RequestTimings;
+import com.autolot.autolotbackend.service.FileUpload.ImageVariantsReadyEvent;
+import com.autolot.autolotbackend.service.vehicle.VehicleChangedEvent;
+import com.autolot.autolotbackend.service.vehicle.VehiclesImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialized public storefront responses, keyed by dealership + endpoint/query.
+ *
+ * Entries hold the final JSON bytes (plain and gzip), so a hit skips the query, the mapping and
+ * Jackson entirely. The cache is bounded by total bytes across all tenants; a vehicle write only
+ * drops the entries of the dealership it belongs to.
+ *
+ * Each dealership has a generation that every invalidation bumps. A load that was running when
+ * its dealership was invalidated may have read the old data, so its result is served once but
+ * not kept.
+ */
+@Component
+public class PublicResponseCache {
+
+    public record Key(String dealershipId, String endpoint) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, CachedResponse> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public PublicResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.response-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${app.response-cache.ttl:10m}") Duration ttl
+    ) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, CachedResponse response) -> response.weight())
+                // Safety net only: writes invalidate eagerly, this bounds staleness if a load races a commit
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "public.response");
+    }
+
+    /**
+     * Returns the cached response, or runs the loader, serializes and compresses its result once.
+     * Concurrent misses for the same key wait for a single load.
+     */
+    public CachedResponse get(String dealershipId, String endpoint, Supplier<?> loader) {
+        Key key = new Key(dealershipId, endpoint);
+        AtomicLong generation = generation(dealershipId);
+        long before = generation.get();
+        CachedResponse response = cache.get(key, k -> serialize(loader.get()));
+        if (generation.get() != before) {
+            // Invalidated while loading; invalidate's removeIf can miss an entry still being computed
+            cache.asMap().remove(key, response);
+        }
+        return response;
+    }
+
+    // After the search indexes (listings are loaded through them), before clients are notified
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(VehicleChangedEvent.CACHE_ORDER)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        invalidate(event.dealershipId());
+    }
+
+    // Thumbnails appear asynchronously after upload, and listings embed their URLs
+    @EventListener
+    @Order(VehicleChangedEvent.CACHE_ORDER)
+    public void onImageVariantsReady(ImageVariantsReadyEvent event) {
+        invalidate(event.dealershipId());
+    }
+
+    @EventListener
+    @Order(VehicleChangedEvent.CACHE_ORDER)
+    public void onVehiclesImported(VehiclesImportedEvent event) {
+        invalidate(event.dealershipId());
+    }
+
+    public void invalidate(String dealershipId) {
+        generation(dealershipId).incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.dealershipId().equals(dealershipId));
+    }
+
+    private AtomicLong generation(String dealershipId) {
+        return generations.computeIfAbsent(dealershipId, id -> new AtomicLong());
+    }
+
+    private CachedResponse serialize(Object body) {
+        long start = System.nanoTime();
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        RequestTimings.serialization(System.nanoTime() - start);
+        return CachedResponse.of(json);
+    }
+}
@@ -0,0 +1,62 @@
+package com.autolot.autolotbackend.service.cache;
+
+import com.autolot.autolotbackend.metrics.RequestTimings;
+import com.autolot.autolotbackend.model.dto.SiteConfigDTO;
+import com.autolot.autolotbackend.service.siteconfig.SiteConfigChangedEvent;
+import com.autolot.autolotbackend.service.siteconfig.SiteConfigService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+
+/**
+ * Per-dealership cache of the serialized public site config (theme + layout), plain and gzip,
+ * with its ETag. Every storefront page load needs it, so a hit skips the database and Jackson;
+ * a write drops only that dealership's entry.
+ */
+@Component
+public class SiteConfigCache {
+
+    private final SiteConfigService siteConfigService;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> cache;
+
+    public SiteConfigCache(
+            SiteConfigService siteConfigService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.site-config-cache.max-size:10000}") long maxSize,
+            @Value("${app.site-config-cache.ttl:10m}") Duration ttl
+    ) {
+        this.siteConfigService = siteConfigService;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                // Safety net only: writes invalidate eagerly
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "site.config");
+    }
+
+    public CachedResponse get(String dealershipId) {
+        return cache.get(dealershipId, id -> {
+            SiteConfigDTO siteConfig = siteConfigService.getSiteConfig(id);
+            long start = System.nanoTime();
+            byte[] json = objectMapper.writeValueAsBytes(siteConfig);
+            RequestTimings.serialization(System.nanoTime() - start);
+            return CachedResponse.of(json);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSiteConfigChanged(SiteConfigChangedEvent event) {
+        cache.invalidate(event.dealershipId());
+    }
+}
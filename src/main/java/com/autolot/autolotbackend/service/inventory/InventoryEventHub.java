@@ -0,0 +1,320 @@
+package com.autolot.autolotbackend.service.inventory;
+
+import com.autolot.autolotbackend.model.dto.InventoryEventDTO;
+import com.autolot.autolotbackend.model.entity.Vehicle;
+import com.autolot.autolotbackend.model.entity.VehicleStatus;
+import com.autolot.autolotbackend.service.vehicle.VehicleChangedEvent;
+import com.autolot.autolotbackend.service.vehicle.VehiclesImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-dealership server-sent event stream of committed inventory changes.
+ *
+ * Each channel has a ring buffer of its last buffer-size events; event ids are
+ * "epoch-sequence", so a client reconnecting with Last-Event-ID gets what it missed, or a "reset"
+ * event when that is no longer in the buffer (or the server restarted). Idle connections hold no
+ * thread (async servlet); events are serialized once and written to each subscriber from its own
+ * queue on a virtual thread, so a slow client delays only itself. A client that falls more than
+ * max-pending events behind is disconnected and resumes from its last id.
+ *
+ * Admin dashboards and storefronts subscribe to separate channels. The storefront one carries only
+ * available vehicles, plus a "removed" event when a vehicle stops being available, so anonymous
+ * clients never see pending or sold stock.
+ */
+@Component
+public class InventoryEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEventHub.class);
+
+    public enum Audience {
+        ADMIN,
+        STOREFRONT
+    }
+
+    private record ChannelKey(String dealershipId, Audience audience) {
+    }
+
+    private record Event(String id, String name, String json) {
+        static final Event HEARTBEAT = new Event(null, null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            return this == HEARTBEAT
+                    ? SseEmitter.event().comment("heartbeat")
+                    : SseEmitter.event().id(id).name(name).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxPending;
+    private final long timeoutMillis;
+    // Distinguishes ids from before a restart, whose sequences can't be replayed
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<ChannelKey, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats;
+
+    public InventoryEventHub(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.inventory-events.buffer-size:256}") int bufferSize,
+            @Value("${app.inventory-events.max-pending:512}") int maxPending,
+            @Value("${app.inventory-events.timeout:30m}") Duration timeout,
+            @Value("${app.inventory-events.heartbeat:30s}") Duration heartbeat
+    ) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxPending = Math.max(maxPending, bufferSize + 1);
+        this.timeoutMillis = timeout.toMillis();
+
+        // Comments keep proxies from closing idle streams and reveal dead connections
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("inventory-events-heartbeat")
+                .daemon(true)
+                .factory());
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("autolot.inventory.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open inventory event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the dealership. With a Last-Event-ID the missed events are replayed first;
+     * without one the stream starts with a "ready" event carrying the current position.
+     */
+    public SseEmitter subscribe(String dealershipId, Audience audience, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        Channel channel = channels.computeIfAbsent(new ChannelKey(dealershipId, audience), key -> new Channel());
+
+        emitter.onCompletion(() -> channel.unsubscribe(subscriber));
+        emitter.onTimeout(() -> channel.unsubscribe(subscriber));
+        emitter.onError(e -> channel.unsubscribe(subscriber));
+
+        channel.subscribe(subscriber, lastEventId);
+        return emitter;
+    }
+
+    // Last, so a client refetching on this event finds indexes and caches already updated
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(VehicleChangedEvent.NOTIFY_ORDER)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        Vehicle vehicle = event.vehicle();
+        InventoryEventDTO data = switch (event.type()) {
+            case DELETED -> idOnlyEvent("deleted", event.vehicleId());
+            case CREATED -> vehicleEvent("created", vehicle);
+            case UPDATED -> vehicleEvent("updated", vehicle);
+            case STATUS_CHANGED -> vehicleEvent("status", vehicle);
+        };
+        publish(event.dealershipId(), Audience.ADMIN, data);
+
+        InventoryEventDTO storefrontData = storefrontEvent(event, data);
+        if (storefrontData != null) {
+            publish(event.dealershipId(), Audience.STOREFRONT, storefrontData);
+        }
+    }
+
+    // Rows written by a bulk import have no individual events; clients refetch instead
+    @EventListener
+    @Order(VehicleChangedEvent.NOTIFY_ORDER)
+    public void onVehiclesImported(VehiclesImportedEvent event) {
+        InventoryEventDTO reload = InventoryEventDTO.of("reload");
+        publish(event.dealershipId(), Audience.ADMIN, reload);
+        publish(event.dealershipId(), Audience.STOREFRONT, reload);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        channels.values().forEach(Channel::closeAll);
+        senders.shutdownNow();
+    }
+
+    private void publish(String dealershipId, Audience audience, InventoryEventDTO data) {
+        // Channels only exist once someone subscribed; without one there's nobody to resume either
+        Channel channel = channels.get(new ChannelKey(dealershipId, audience));
+        if (channel != null) {
+            channel.publish(data.type(), objectMapper.writeValueAsString(data));
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Channel channel : channels.values()) {
+            channel.heartbeat();
+        }
+    }
+
+    /**
+     * The storefront's view of a change: the same event while the vehicle is available, "removed"
+     * when it stops being available or an available vehicle is deleted, and nothing for changes to
+     * vehicles the storefront doesn't show.
+     */
+    private static InventoryEventDTO storefrontEvent(VehicleChangedEvent event, InventoryEventDTO adminData) {
+        boolean available = event.vehicle().getStatus() == VehicleStatus.AVAILABLE;
+        return switch (event.type()) {
+            case CREATED, UPDATED -> available ? adminData : null;
+            case STATUS_CHANGED -> available ? adminData : idOnlyEvent("removed", event.vehicleId());
+            case DELETED -> available ? idOnlyEvent("removed", event.vehicleId()) : null;
+        };
+    }
+
+    private static InventoryEventDTO idOnlyEvent(String type, String vehicleId) {
+        return new InventoryEventDTO(type, vehicleId, null, null, null, null, null, null, null, null);
+    }
+
+    private static InventoryEventDTO vehicleEvent(String type, Vehicle vehicle) {
+        return new InventoryEventDTO(type, vehicle.getId(), vehicle.getStatus(), vehicle.getMake(), vehicle.getModel(),
+                vehicle.getYear(), vehicle.getPrice(), vehicle.getMileage(), vehicle.getFeatured(), vehicle.getUpdatedAt());
+    }
+
+    /**
+     * One dealership stream's ring buffer and subscribers. Publishing and subscribing are serialized on
+     * the channel, so a subscriber's replay and live events can't interleave or skip.
+     */
+    private final class Channel {
+        private final Event[] ring = new Event[bufferSize];
+        private long lastSequence;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+        synchronized void publish(String name, String json) {
+            long sequence = ++lastSequence;
+            Event event = new Event(epoch + "-" + sequence, name, json);
+            ring[(int) (sequence % bufferSize)] = event;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(event);
+            }
+        }
+
+        synchronized void subscribe(Subscriber subscriber, String lastEventId) {
+            List<Event> replay = lastEventId == null ? null : eventsAfter(lastEventId);
+            if (replay == null) {
+                String type = lastEventId == null ? "ready" : "reset";
+                subscriber.enqueue(new Event(epoch + "-" + lastSequence, type,
+                        objectMapper.writeValueAsString(InventoryEventDTO.of(type))));
+            } else {
+                replay.forEach(subscriber::enqueue);
+            }
+            subscribers.add(subscriber);
+            subscriberCount.incrementAndGet();
+        }
+
+        void unsubscribe(Subscriber subscriber) {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+        }
+
+        void heartbeat() {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(Event.HEARTBEAT);
+            }
+        }
+
+        void closeAll() {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+
+        // The buffered events after lastEventId, or null when they can't all be replayed
+        private List<Event> eventsAfter(String lastEventId) {
+            int dash = lastEventId.lastIndexOf('-');
+            if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) return null;
+
+            long after;
+            try {
+                after = Long.parseLong(lastEventId.substring(dash + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            long oldest = Math.max(1, lastSequence - bufferSize + 1);
+            if (after > lastSequence || after + 1 < oldest) return null;
+
+            List<Event> events = new ArrayList<>((int) (lastSequence - after));
+            for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+                events.add(ring[(int) (sequence % bufferSize)]);
+            }
+            return events;
+        }
+    }
+
+    /**
+     * An open stream with its own send queue, drained by at most one virtual thread at a time.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Event event) {
+            if (closed) return;
+            if (pendingCount.incrementAndGet() > maxPending) {
+                // Too far behind: drop the stream, the client reconnects with its Last-Event-ID
+                closed = true;
+                emitter.complete();
+                return;
+            }
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Event event;
+                while ((event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    if (closed) continue;
+                    try {
+                        emitter.send(event.toSse());
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away; the emitter's completion callback unsubscribes it
+                        closed = true;
+                        log.debug("Inventory event stream closed: {}", e.getMessage());
+                        emitter.completeWithError(e);
+                    }
+                }
+                draining.set(false);
+                // Re-check: an event enqueued after the last poll but before the reset has no drainer
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
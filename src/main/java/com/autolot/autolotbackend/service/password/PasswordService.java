@@ -1,17 +1,104 @@
 package com.autolot.autolotbackend.service.password;
 
+import com.autolot.autolotbackend.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * bcrypt hashing and verification on a dedicated pool sized to the cores.
+ *
+ * Each call costs ~100ms of CPU, so running them on request threads lets a login burst starve
+ * every other endpoint. Here at most one hash per core runs at a time, a bounded queue absorbs
+ * short bursts and anything beyond it is rejected immediately with a 429 instead of piling up.
+ */
 @Service
 public class PasswordService {
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    // Verified against when the account doesn't exist, so unknown emails cost the same as wrong passwords
+    private final String dummyHash;
+
+    public PasswordService(
+            @Value("${app.password.bcrypt-strength:10}") int strength,
+            @Value("${app.password.threads:0}") int threads,
+            @Value("${app.password.queue-capacity:100}") int queueCapacity
+    ) {
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+
+        // 0 = one per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
 
     public String hashPassword(String rawPassword){
-        return passwordEncoder.encode(rawPassword);
+        return run(() -> passwordEncoder.encode(rawPassword));
     }
 
     public boolean verifyPassword(String rawPassword, String hashedPassword){
-        return passwordEncoder.matches(rawPassword, hashedPassword);
+        return run(() -> passwordEncoder.matches(rawPassword, hashedPassword));
+    }
+
+    /**
+     * Burns the same bcrypt work as a real verification and always fails.
+     */
+    public boolean verifyDummy(String rawPassword){
+        run(() -> passwordEncoder.matches(rawPassword, dummyHash));
+        return false;
+    }
+
+    /**
+     * True when the hash was made with a lower work factor than the one currently configured.
+     */
+    public boolean needsRehash(String hashedPassword){
+        return passwordEncoder.upgradeEncoding(hashedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many sign-in attempts right now, please retry shortly", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
 }
@@ -0,0 +1,298 @@
+package com.autolot.autolotbackend.service.search;
+
+import com.autolot.autolotbackend.model.dto.VehicleSearchQuery;
+import com.autolot.autolotbackend.model.dto.VehicleSort;
+import com.autolot.autolotbackend.model.entity.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of one dealership's inventory.
+ *
+ * Every vehicle gets a slot number. Numeric fields live in primitive arrays indexed by slot,
+ * and every enum value / make / model has a BitSet of the slots that have it, so a query is a
+ * handful of BitSet ANDs plus one pass over the numeric arrays.
+ *
+ * Reads take a shared lock; writes (one vehicle at a time) take the exclusive lock.
+ */
+class TenantInventoryIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+    private int[] years = new int[INITIAL_CAPACITY];
+    private int[] mileages = new int[INITIAL_CAPACITY];
+    private long[] createdAtMicros = new long[INITIAL_CAPACITY];
+    private String[] makes = new String[INITIAL_CAPACITY];
+    private String[] models = new String[INITIAL_CAPACITY];
+
+    private final BitSet live = new BitSet();
+    private final BitSet featured = new BitSet();
+    private final BitSet[] byStatus = newBitSets(VehicleStatus.values().length);
+    private final BitSet[] byBodyType = newBitSets(BodyType.values().length);
+    private final BitSet[] byFuelType = newBitSets(FuelType.values().length);
+    private final BitSet[] byTransmission = newBitSets(Transmission.values().length);
+    private final BitSet[] byCondition = newBitSets(VehicleCondition.values().length);
+
+    // Keys are lower-cased; labels remember how the value was first written for facet output
+    private final Map<String, BitSet> byMake = new HashMap<>();
+    private final Map<String, BitSet> byModel = new HashMap<>();
+    private final Map<String, String> labels = new HashMap<>();
+
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private int highWater = 0;
+
+    record SearchHits(List<String> ids, int total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    static TenantInventoryIndex of(Collection<Vehicle> vehicles) {
+        TenantInventoryIndex index = new TenantInventoryIndex();
+        vehicles.forEach(index::upsert);
+        return index;
+    }
+
+    void upsert(Vehicle vehicle) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(vehicle.getId());
+            if (slot != null) {
+                clearSlot(slot);
+            } else {
+                slot = allocateSlot();
+                slotById.put(vehicle.getId(), slot);
+            }
+
+            String make = lower(vehicle.getMake());
+            String model = lower(vehicle.getModel());
+
+            ids[slot] = vehicle.getId();
+            priceCents[slot] = toCents(vehicle.getPrice());
+            years[slot] = vehicle.getYear() != null ? vehicle.getYear() : 0;
+            mileages[slot] = vehicle.getMileage() != null ? vehicle.getMileage() : 0;
+            createdAtMicros[slot] = toMicros(vehicle.getCreatedAt());
+            makes[slot] = make;
+            models[slot] = model;
+
+            live.set(slot);
+            if (Boolean.TRUE.equals(vehicle.getFeatured())) featured.set(slot);
+            setEnum(byStatus, vehicle.getStatus(), slot);
+            setEnum(byBodyType, vehicle.getBodyType(), slot);
+            setEnum(byFuelType, vehicle.getFuelType(), slot);
+            setEnum(byTransmission, vehicle.getTransmission(), slot);
+            setEnum(byCondition, vehicle.getCondition(), slot);
+            if (make != null) {
+                byMake.computeIfAbsent(make, k -> new BitSet()).set(slot);
+                labels.putIfAbsent("make:" + make, vehicle.getMake());
+            }
+            if (model != null) {
+                byModel.computeIfAbsent(model, k -> new BitSet()).set(slot);
+                labels.putIfAbsent("model:" + model, vehicle.getModel());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String vehicleId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(vehicleId);
+            if (slot != null) {
+                clearSlot(slot);
+                ids[slot] = null;
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    SearchHits search(VehicleSearchQuery query, VehicleSort sort, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) live.clone();
+            applyRanges(base, query);
+            if (query.featured() != null) {
+                if (query.featured()) base.and(featured); else base.andNot(featured);
+            }
+
+            // One mask per facet dimension (null = not filtered on)
+            BitSet[] dimensions = {
+                    anyOf(byStatus, query.status()),
+                    anyOf(byBodyType, query.bodyType()),
+                    anyOf(byFuelType, query.fuelType()),
+                    anyOf(byTransmission, query.transmission()),
+                    anyOf(byCondition, query.condition()),
+                    query.make() != null && !query.make().isBlank() ? byMake.getOrDefault(lower(query.make()), new BitSet()) : null,
+                    query.model() != null && !query.model().isBlank() ? byModel.getOrDefault(lower(query.model()), new BitSet()) : null
+            };
+
+            BitSet matches = intersect(base, dimensions, -1);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            facets.put("status", enumCounts(VehicleStatus.values(), byStatus, intersect(base, dimensions, 0)));
+            facets.put("bodyType", enumCounts(BodyType.values(), byBodyType, intersect(base, dimensions, 1)));
+            facets.put("fuelType", enumCounts(FuelType.values(), byFuelType, intersect(base, dimensions, 2)));
+            facets.put("transmission", enumCounts(Transmission.values(), byTransmission, intersect(base, dimensions, 3)));
+            facets.put("condition", enumCounts(VehicleCondition.values(), byCondition, intersect(base, dimensions, 4)));
+            facets.put("make", valueCounts("make:", byMake, intersect(base, dimensions, 5)));
+            facets.put("model", valueCounts("model:", byModel, intersect(base, dimensions, 6)));
+
+            return new SearchHits(page(matches, sort, offset, limit), matches.cardinality(), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyRanges(BitSet candidates, VehicleSearchQuery query) {
+        long minPrice = query.minPrice() != null ? toCents(query.minPrice()) : Long.MIN_VALUE;
+        long maxPrice = query.maxPrice() != null ? toCents(query.maxPrice()) : Long.MAX_VALUE;
+        int minYear = query.minYear() != null ? query.minYear() : Integer.MIN_VALUE;
+        int maxYear = query.maxYear() != null ? query.maxYear() : Integer.MAX_VALUE;
+        int maxMileage = query.maxMileage() != null ? query.maxMileage() : Integer.MAX_VALUE;
+
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if (priceCents[slot] < minPrice || priceCents[slot] > maxPrice
+                    || years[slot] < minYear || years[slot] > maxYear
+                    || mileages[slot] > maxMileage) {
+                candidates.clear(slot);
+            }
+        }
+    }
+
+    private List<String> page(BitSet matches, VehicleSort sort, int offset, int limit) {
+        Comparator<Integer> order = switch (sort) {
+            case NEWEST -> Comparator.<Integer>comparingLong(slot -> createdAtMicros[slot]).reversed();
+            case PRICE_ASC -> Comparator.comparingLong(slot -> priceCents[slot]);
+            case PRICE_DESC -> Comparator.<Integer>comparingLong(slot -> priceCents[slot]).reversed();
+        };
+
+        return matches.stream()
+                .boxed()
+                .sorted(order.thenComparing(slot -> ids[slot]))
+                .skip(offset)
+                .limit(limit)
+                .map(slot -> ids[slot])
+                .toList();
+    }
+
+    private static BitSet intersect(BitSet base, BitSet[] dimensions, int skip) {
+        BitSet result = (BitSet) base.clone();
+        for (int i = 0; i < dimensions.length; i++) {
+            if (i != skip && dimensions[i] != null) {
+                result.and(dimensions[i]);
+            }
+        }
+        return result;
+    }
+
+    private static <E extends Enum<E>> BitSet anyOf(BitSet[] byValue, Set<E> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        values.forEach(value -> result.or(byValue[value.ordinal()]));
+        return result;
+    }
+
+    private static <E extends Enum<E>> Map<String, Integer> enumCounts(E[] values, BitSet[] byValue, BitSet mask) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (E value : values) {
+            counts.put(value.name(), countAnd(byValue[value.ordinal()], mask));
+        }
+        return counts;
+    }
+
+    private Map<String, Integer> valueCounts(String labelPrefix, Map<String, BitSet> byValue, BitSet mask) {
+        Map<String, Integer> counts = new TreeMap<>();
+        byValue.forEach((key, slots) -> {
+            int count = countAnd(slots, mask);
+            if (count > 0) {
+                counts.put(labels.getOrDefault(labelPrefix + key, key), count);
+            }
+        });
+        return counts;
+    }
+
+    private static int countAnd(BitSet a, BitSet b) {
+        BitSet copy = (BitSet) a.clone();
+        copy.and(b);
+        return copy.cardinality();
+    }
+
+    private void clearSlot(int slot) {
+        live.clear(slot);
+        featured.clear(slot);
+        for (BitSet[] group : List.of(byStatus, byBodyType, byFuelType, byTransmission, byCondition)) {
+            for (BitSet bits : group) {
+                bits.clear(slot);
+            }
+        }
+        clearValue(byMake, makes[slot], slot);
+        clearValue(byModel, models[slot], slot);
+    }
+
+    private static void clearValue(Map<String, BitSet> byValue, String key, int slot) {
+        if (key == null) return;
+        BitSet bits = byValue.get(key);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                byValue.remove(key);
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (highWater == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            years = Arrays.copyOf(years, capacity);
+            mileages = Arrays.copyOf(mileages, capacity);
+            createdAtMicros = Arrays.copyOf(createdAtMicros, capacity);
+            makes = Arrays.copyOf(makes, capacity);
+            models = Arrays.copyOf(models, capacity);
+        }
+        return highWater++;
+    }
+
+    private static <E extends Enum<E>> void setEnum(BitSet[] byValue, E value, int slot) {
+        if (value != null) {
+            byValue[value.ordinal()].set(slot);
+        }
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] bitSets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price != null ? price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) return Long.MAX_VALUE; // not yet stamped: treat as newest
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,206 @@
+package com.autolot.autolotbackend.service.search;
+
+import com.autolot.autolotbackend.model.entity.Vehicle;
+import com.autolot.autolotbackend.model.entity.VehicleStatus;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over one dealership's vehicles: term -> (vehicle id -> field weight).
+ *
+ * Terms are kept sorted so prefix lookups are a range scan. Query tokens match a term exactly,
+ * as a prefix ("hil" -> "hilux") or within a small edit distance ("hilx" -> "hilux"); every
+ * token has to match for a vehicle to be returned, and results are ranked by a tf-idf style score.
+ * Every vehicle is indexed whatever its status; searches say which statuses they may return.
+ */
+class TenantTextIndex {
+
+    private static final float MAKE_MODEL_WEIGHT = 3f;
+    private static final float ATTRIBUTE_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float EXACT = 1f;
+    private static final float PREFIX = 0.8f;
+    private static final float FUZZY = 0.5f;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByVehicle = new HashMap<>();
+    private final Map<String, VehicleStatus> statusByVehicle = new HashMap<>();
+
+    record Hits(List<String> ids, int total) {
+    }
+
+    static TenantTextIndex of(Collection<Vehicle> vehicles) {
+        TenantTextIndex index = new TenantTextIndex();
+        vehicles.forEach(index::upsert);
+        return index;
+    }
+
+    void upsert(Vehicle vehicle) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, vehicle.getMake(), MAKE_MODEL_WEIGHT);
+        addField(terms, vehicle.getModel(), MAKE_MODEL_WEIGHT);
+        addField(terms, vehicle.getExteriorColor(), ATTRIBUTE_WEIGHT);
+        addField(terms, vehicle.getInteriorColor(), ATTRIBUTE_WEIGHT);
+        addField(terms, vehicle.getYear() != null ? vehicle.getYear().toString() : null, ATTRIBUTE_WEIGHT);
+        addField(terms, vehicle.getFuelType() != null ? vehicle.getFuelType().getFuelTypeDisplayName() : null, ATTRIBUTE_WEIGHT);
+        addField(terms, vehicle.getBodyType() != null ? vehicle.getBodyType().getBodyTypeDisplayName() : null, ATTRIBUTE_WEIGHT);
+        addField(terms, vehicle.getTransmission() != null ? vehicle.getTransmission().getTransmissionDisplayName() : null, ATTRIBUTE_WEIGHT);
+        addField(terms, vehicle.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(vehicle.getId());
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(vehicle.getId(), weight));
+            termsByVehicle.put(vehicle.getId(), terms.keySet());
+            statusByVehicle.put(vehicle.getId(), vehicle.getStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String vehicleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(vehicleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param status statuses to return; null or empty returns every vehicle
+     */
+    Hits search(String text, Set<VehicleStatus> status, int offset, int limit) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(termsByVehicle.size(), 1);
+            Map<String, Float> scores = null;
+
+            for (String token : tokens) {
+                Map<String, Float> tokenScores = scoreToken(token, documentCount);
+                if (scores == null) {
+                    scores = tokenScores;
+                    if (status != null && !status.isEmpty()) {
+                        scores.keySet().removeIf(id -> !status.contains(statusByVehicle.get(id)));
+                    }
+                } else {
+                    // AND semantics: keep only vehicles that matched every token so far
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new Hits(List.of(), 0);
+                }
+            }
+
+            List<String> ranked = scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            return new Hits(ranked, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score per vehicle for one query token, over every term it matches.
+     */
+    private Map<String, Float> scoreToken(String token, int documentCount) {
+        Map<String, Float> scores = new HashMap<>();
+
+        // Exact and prefix matches: one range scan over the sorted terms
+        for (Map.Entry<String, Map<String, Float>> entry : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            accumulate(scores, entry.getValue(), entry.getKey().equals(token) ? EXACT : PREFIX, documentCount);
+        }
+
+        // Typos: only when the token is long enough that an edit doesn't turn it into another word
+        int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+        if (maxEdits > 0) {
+            for (Map.Entry<String, Map<String, Float>> entry : postings.entrySet()) {
+                String term = entry.getKey();
+                if (!term.startsWith(token)
+                        && Math.abs(term.length() - token.length()) <= maxEdits
+                        && withinEditDistance(token, term, maxEdits)) {
+                    accumulate(scores, entry.getValue(), FUZZY, documentCount);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void accumulate(Map<String, Float> scores, Map<String, Float> posting, float matchFactor, int documentCount) {
+        float idf = (float) Math.log(1 + (double) documentCount / posting.size());
+        posting.forEach((vehicleId, weight) -> scores.merge(vehicleId, weight * matchFactor * idf, Math::max));
+    }
+
+    private void removeLocked(String vehicleId) {
+        statusByVehicle.remove(vehicleId);
+        Set<String> terms = termsByVehicle.remove(vehicleId);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<String, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(vehicleId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String value, float weight) {
+        for (String token : tokenize(value)) {
+            // Repeats of a term in a field add a little, but can't outweigh a better field
+            terms.merge(token, weight, (a, b) -> Math.max(a, b) + 0.1f);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Levenshtein distance with an early exit once every cell in a row exceeds maxEdits.
+     */
+    private static boolean withinEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) return false;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+}
@@ -0,0 +1,82 @@
+package com.autolot.autolotbackend.service.search;
+
+import com.autolot.autolotbackend.model.dto.VehicleSearchQuery;
+import com.autolot.autolotbackend.model.dto.VehicleSort;
+import com.autolot.autolotbackend.repository.VehicleRepository;
+import com.autolot.autolotbackend.service.vehicle.VehicleChangedEvent;
+import com.autolot.autolotbackend.service.vehicle.VehiclesImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-dealership in-memory search index for storefront filtering and facet counts.
+ *
+ * A tenant's index is built from the database on its first search and then kept current
+ * from {@link VehicleChangedEvent}s, so searches never touch the database. At most max-tenants
+ * indexes are kept; the least recently used are dropped and rebuilt when searched again.
+ */
+@Component
+public class VehicleFacetIndex {
+
+    private final VehicleRepository vehicleRepository;
+    private final Cache<String, TenantInventoryIndex> indexes;
+
+    public VehicleFacetIndex(
+            VehicleRepository vehicleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.search-index.max-tenants:1000}") long maxTenants
+    ) {
+        this.vehicleRepository = vehicleRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "search.facet");
+    }
+
+    public record Result(List<String> vehicleIds, int total, Map<String, Map<String, Integer>> facets) {
+    }
+
+    public Result search(String dealershipId, VehicleSearchQuery query, VehicleSort sort, int offset, int limit) {
+        TenantInventoryIndex.SearchHits hits = indexFor(dealershipId).search(query, sort, offset, limit);
+        return new Result(hits.ids(), hits.total(), hits.facets());
+    }
+
+    // fallbackExecution: deleteVehicle isn't transactional, so there's no commit to wait for
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(VehicleChangedEvent.INDEX_ORDER)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        // computeIfPresent: tenants that haven't been searched yet have no index to update.
+        // It also waits for an in-flight build of this tenant, so the change isn't lost.
+        indexes.asMap().computeIfPresent(event.dealershipId(), (dealershipId, index) -> {
+            if (event.type() == VehicleChangedEvent.Type.DELETED) {
+                index.remove(event.vehicleId());
+            } else {
+                index.upsert(event.vehicle());
+            }
+            return index;
+        });
+    }
+
+    // A bulk import bypasses JPA; drop the tenant's index and rebuild it on the next search
+    @EventListener
+    @Order(VehicleChangedEvent.INDEX_ORDER)
+    public void onVehiclesImported(VehiclesImportedEvent event) {
+        indexes.invalidate(event.dealershipId());
+    }
+
+    private TenantInventoryIndex indexFor(String dealershipId) {
+        // Concurrent first searches of a tenant share one build
+        return indexes.get(dealershipId, id -> TenantInventoryIndex.of(vehicleRepository.findByDealership_Id(id)));
+    }
+}
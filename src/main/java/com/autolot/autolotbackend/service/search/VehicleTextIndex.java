@@ -0,0 +1,74 @@
+package com.autolot.autolotbackend.service.search;
+
+import com.autolot.autolotbackend.model.entity.VehicleStatus;
+import com.autolot.autolotbackend.repository.VehicleRepository;
+import com.autolot.autolotbackend.service.vehicle.VehicleChangedEvent;
+import com.autolot.autolotbackend.service.vehicle.VehiclesImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-dealership full-text index over make, model, colours, description and a few attributes.
+ * Built lazily per tenant and kept current from {@link VehicleChangedEvent}s, like {@link VehicleFacetIndex}.
+ */
+@Component
+public class VehicleTextIndex {
+
+    private final VehicleRepository vehicleRepository;
+    private final Cache<String, TenantTextIndex> indexes;
+
+    public VehicleTextIndex(
+            VehicleRepository vehicleRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.search-index.max-tenants:1000}") long maxTenants
+    ) {
+        this.vehicleRepository = vehicleRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "search.text");
+    }
+
+    public record Result(List<String> vehicleIds, int total) {
+    }
+
+    public Result search(String dealershipId, String text, Set<VehicleStatus> status, int offset, int limit) {
+        TenantTextIndex.Hits hits = indexFor(dealershipId).search(text, status, offset, limit);
+        return new Result(hits.ids(), hits.total());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(VehicleChangedEvent.INDEX_ORDER)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        indexes.asMap().computeIfPresent(event.dealershipId(), (dealershipId, index) -> {
+            if (event.type() == VehicleChangedEvent.Type.DELETED) {
+                index.remove(event.vehicleId());
+            } else {
+                index.upsert(event.vehicle());
+            }
+            return index;
+        });
+    }
+
+    // A bulk import bypasses JPA; drop the tenant's index and rebuild it on the next search
+    @EventListener
+    @Order(VehicleChangedEvent.INDEX_ORDER)
+    public void onVehiclesImported(VehiclesImportedEvent event) {
+        indexes.invalidate(event.dealershipId());
+    }
+
+    private TenantTextIndex indexFor(String dealershipId) {
+        return indexes.get(dealershipId, id -> TenantTextIndex.of(vehicleRepository.findByDealership_Id(id)));
+    }
+}
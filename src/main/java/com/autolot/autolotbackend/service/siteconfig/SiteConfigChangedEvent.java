@@ -0,0 +1,7 @@
+package com.autolot.autolotbackend.service.siteconfig;
+
+/**
+ * Published when a dealership's site config (theme or layout) is written.
+ */
+public record SiteConfigChangedEvent(String dealershipId) {
+}
@@ -0,0 +1,99 @@
+package com.autolot.autolotbackend.service.siteconfig;
+
+import com.autolot.autolotbackend.exception.BadRequestException;
+import com.autolot.autolotbackend.exception.ResourceNotFoundException;
+import com.autolot.autolotbackend.mapper.SiteConfigMapper;
+import com.autolot.autolotbackend.model.dto.SiteConfigDTO;
+import com.autolot.autolotbackend.model.dto.SiteConfigRequestDTO;
+import com.autolot.autolotbackend.model.entity.SiteConfig;
+import com.autolot.autolotbackend.repository.SiteConfigRepository;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reads and writes a dealership's storefront theme and layout.
+ *
+ * A layout is an object with a "sections" array; every section is an object with a unique "id",
+ * which is what {@link #updateLayoutSection} addresses. Layouts are validated on write so readers
+ * can pass the stored JSON through untouched.
+ */
+@Service
+@RequiredArgsConstructor
+public class SiteConfigService {
+
+    private final SiteConfigRepository siteConfigRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public SiteConfigDTO getSiteConfig(String dealershipId) {
+        return SiteConfigMapper.toDTO(find(dealershipId));
+    }
+
+    @Transactional
+    public SiteConfigDTO updateSiteConfig(SiteConfigRequestDTO request) {
+        String dealershipId = TenantContext.requireDealershipId();
+        validateLayout(request.layout());
+
+        SiteConfig siteConfig = find(dealershipId);
+        SiteConfigMapper.updateEntity(siteConfig, request, objectMapper.writeValueAsString(request.layout()));
+        SiteConfig saved = siteConfigRepository.saveAndFlush(siteConfig);
+
+        eventPublisher.publishEvent(new SiteConfigChangedEvent(dealershipId));
+        return SiteConfigMapper.toDTO(saved);
+    }
+
+    /**
+     * Replaces one layout section in the database, leaving the rest of the layout untouched.
+     * The section's "id" may be omitted from the body; if present it must match sectionId.
+     */
+    @Transactional
+    public void updateLayoutSection(String sectionId, JsonNode section) {
+        String dealershipId = TenantContext.requireDealershipId();
+        if (!(section instanceof ObjectNode object)) {
+            throw new BadRequestException("A layout section must be a JSON object");
+        }
+        JsonNode id = object.get("id");
+        if (id == null) {
+            object.put("id", sectionId);
+        } else if (!id.isString() || !id.asString().equals(sectionId)) {
+            throw new BadRequestException("Section id '" + id + "' does not match '" + sectionId + "'");
+        }
+
+        int updated = siteConfigRepository.updateLayoutSection(dealershipId, sectionId, objectMapper.writeValueAsString(object));
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Layout section not found: " + sectionId);
+        }
+        eventPublisher.publishEvent(new SiteConfigChangedEvent(dealershipId));
+    }
+
+    private SiteConfig find(String dealershipId) {
+        return siteConfigRepository.findByDealership_Id(dealershipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Site config not found"));
+    }
+
+    private static void validateLayout(JsonNode layout) {
+        if (!layout.isObject() || !layout.path("sections").isArray()) {
+            throw new BadRequestException("layout must be an object with a \"sections\" array");
+        }
+        Set<String> ids = new HashSet<>();
+        for (JsonNode section : layout.get("sections")) {
+            JsonNode id = section.get("id");
+            if (!section.isObject() || id == null || !id.isString() || id.asString().isBlank()) {
+                throw new BadRequestException("Every layout section must be an object with a string \"id\"");
+            }
+            if (!ids.add(id.asString())) {
+                throw new BadRequestException("Duplicate layout section id: " + id.asString());
+            }
+        }
+    }
+}
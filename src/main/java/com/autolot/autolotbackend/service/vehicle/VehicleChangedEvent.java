@@ -0,0 +1,30 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+import com.autolot.autolotbackend.model.entity.Vehicle;
+
+/**
+ * Published by {@link VehicleService} on every vehicle write. Listeners that keep derived state
+ * (indexes, caches) should use {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * Listeners are ordered with the constants below (for this event and {@link VehiclesImportedEvent}):
+ * in-memory indexes are brought up to date first, then response caches are dropped (a reload
+ * reads the indexes), and clients are notified last, so a refetch can't see stale data.
+ */
+public record VehicleChangedEvent(String dealershipId, Vehicle vehicle, Type type) {
+
+    public static final int INDEX_ORDER = 100;
+    public static final int CACHE_ORDER = 200;
+    public static final int NOTIFY_ORDER = 300;
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        // An update that also moved the vehicle to another status (e.g. AVAILABLE -> SOLD)
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    public String vehicleId() {
+        return vehicle.getId();
+    }
+}
@@ -0,0 +1,64 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+import com.autolot.autolotbackend.exception.BadRequestException;
+import com.autolot.autolotbackend.model.dto.VehicleSort;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes keyset positions as opaque URL-safe cursors: base64("SORT|sortKey|id").
+ * The id is the tie-breaker so rows with the same createdAt / price are never skipped or repeated.
+ */
+class VehicleCursor {
+
+    private static final String SEPARATOR = "|";
+
+    static Sort sortFor(VehicleSort sort) {
+        return switch (sort) {
+            case NEWEST -> Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            case PRICE_ASC -> Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"));
+            case PRICE_DESC -> Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id"));
+        };
+    }
+
+    static String encode(VehicleSort sort, ScrollPosition position) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        Object sortKey = sort == VehicleSort.NEWEST ? keys.get("createdAt") : keys.get("price");
+        String raw = sort.name() + SEPARATOR + sortKey + SEPARATOR + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(VehicleSort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new BadRequestException("Cursor does not match sort " + sort);
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (sort == VehicleSort.NEWEST) {
+                keys.put("createdAt", LocalDateTime.parse(parts[1]));
+            } else {
+                keys.put("price", new BigDecimal(parts[1]));
+            }
+            keys.put("id", parts[2]);
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+import com.autolot.autolotbackend.mapper.VehicleMapper;
+import com.autolot.autolotbackend.model.dto.VehicleResponseDTO;
+import com.autolot.autolotbackend.model.entity.Vehicle;
+import com.autolot.autolotbackend.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes a dealership's whole inventory as CSV or NDJSON straight from a database cursor.
+ *
+ * Vehicles are read in chunks: touching the first vehicle's images batch-loads the images of the
+ * whole chunk (one query, via @BatchSize), the chunk is written, then the persistence context is
+ * cleared. Memory stays at one chunk whatever the size of the lot.
+ */
+@Service
+@RequiredArgsConstructor
+public class VehicleExportService {
+
+    // Matches @BatchSize on Vehicle.vehicleImages, so each chunk's images arrive in one query
+    static final int CHUNK_SIZE = 100;
+
+    // Column names are the ones the import reads, so an export can be re-imported as is
+    private static final List<String> CSV_HEADER = List.of(
+            "id", "make", "model", "year", "price", "mileage", "vin", "condition", "transmission",
+            "fuelType", "bodyType", "exteriorColor", "interiorColor", "description", "featured",
+            "status", "imageUrls", "thumbnailUrl", "createdAt", "updatedAt");
+
+    private final VehicleRepository vehicleRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportVehicles(String dealershipId, VehicleFileFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == VehicleFileFormat.CSV) {
+            writeCsvRow(writer, CSV_HEADER);
+        }
+
+        try (Stream<Vehicle> vehicles = vehicleRepository.streamByDealershipId(dealershipId)) {
+            Iterator<Vehicle> iterator = vehicles.iterator();
+            List<Vehicle> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    for (Vehicle vehicle : chunk) {
+                        write(writer, format, VehicleMapper.toDTO(vehicle));
+                    }
+                    chunk.clear();
+                    // Detach the written chunk so the persistence context doesn't grow with the lot
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, VehicleFileFormat format, VehicleResponseDTO vehicle) throws IOException {
+        if (format == VehicleFileFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(vehicle));
+            writer.write('\n');
+            return;
+        }
+
+        writeCsvRow(writer, List.of(
+                vehicle.id(),
+                vehicle.make(),
+                vehicle.model(),
+                Objects.toString(vehicle.year(), ""),
+                vehicle.price() != null ? vehicle.price().toPlainString() : "",
+                Objects.toString(vehicle.mileage(), ""),
+                Objects.toString(vehicle.vin(), ""),
+                Objects.toString(vehicle.condition(), ""),
+                Objects.toString(vehicle.transmission(), ""),
+                Objects.toString(vehicle.fuelType(), ""),
+                Objects.toString(vehicle.bodyType(), ""),
+                Objects.toString(vehicle.exteriorColor(), ""),
+                Objects.toString(vehicle.interiorColor(), ""),
+                Objects.toString(vehicle.description(), ""),
+                Objects.toString(vehicle.featured(), ""),
+                Objects.toString(vehicle.vehicleStatus(), ""),
+                String.join(" ", vehicle.imageUrls()),
+                Objects.toString(vehicle.thumbnailUrl(), ""),
+                Objects.toString(vehicle.createdAt(), ""),
+                Objects.toString(vehicle.updatedAt(), "")));
+    }
+
+    private static void writeCsvRow(Writer writer, List<String> fields) throws IOException {
+        writer.write(fields.stream().map(VehicleExportService::csvField).collect(Collectors.joining(",")));
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing a delimiter, quote or line break, doubling inner quotes
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,9 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+/**
+ * File formats accepted by the bulk import and produced by the export.
+ */
+public enum VehicleFileFormat {
+    CSV,
+    NDJSON
+}
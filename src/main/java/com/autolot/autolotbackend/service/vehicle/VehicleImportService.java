@@ -0,0 +1,298 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+import com.autolot.autolotbackend.exception.BadRequestException;
+import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
+import com.autolot.autolotbackend.model.entity.*;
+import com.autolot.autolotbackend.util.UuidV7;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or NDJSON inventory file into the vehicle table.
+ *
+ * Rows are parsed and validated one at a time and written with JDBC batch inserts, one
+ * transaction per batch, so memory stays flat regardless of file size and a bad row only
+ * costs that row. Ids are time-ordered UUIDs generated in the application.
+ */
+@Service
+@RequiredArgsConstructor
+public class VehicleImportService {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO vehicle (id, tenant_id, make, model, year, price, mileage, vin, " +
+            "condition, transmission, fuel_type, body_type, exterior_color, interior_color, description, featured, " +
+            "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public interface ImportListener {
+        void onRowError(long row, String message) throws IOException;
+
+        void onProgress(long processed, long imported, long failed) throws IOException;
+    }
+
+    public record ImportResult(long processed, long imported, long failed) {
+    }
+
+    private record PendingRow(long row, VehicleRequestDTO vehicle) {
+    }
+
+    public ImportResult importVehicles(String dealershipId, InputStream input, VehicleFileFormat format, ImportListener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Counters counters = new Counters();
+        List<PendingRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        RowSource rows = format == VehicleFileFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+        long row = 0;
+        try {
+            while (true) {
+                VehicleRequestDTO vehicle;
+                try {
+                    Optional<VehicleRequestDTO> parsed = rows.next();
+                    if (parsed == null) break;
+                    row++;
+                    if (parsed.isEmpty()) continue; // blank line
+                    vehicle = parsed.get();
+                } catch (RowException e) {
+                    row++;
+                    counters.failed++;
+                    listener.onRowError(row, e.getMessage());
+                    continue;
+                }
+
+                String violations = validate(vehicle);
+                if (violations != null) {
+                    counters.failed++;
+                    listener.onRowError(row, violations);
+                    continue;
+                }
+
+                batch.add(new PendingRow(row, vehicle));
+                if (batch.size() == BATCH_SIZE) {
+                    flush(dealershipId, batch, counters, listener);
+                }
+            }
+        } finally {
+            // Also reached when the input breaks off or the client disconnects: rows already read
+            // are still written, and committed batches must reach the search indexes either way
+            try {
+                flush(dealershipId, batch, counters, listener);
+            } finally {
+                if (counters.imported > 0) {
+                    eventPublisher.publishEvent(new VehiclesImportedEvent(dealershipId, counters.imported));
+                }
+            }
+        }
+        return new ImportResult(counters.imported + counters.failed, counters.imported, counters.failed);
+    }
+
+    private void flush(String dealershipId, List<PendingRow> batch, Counters counters, ImportListener listener) throws IOException {
+        if (batch.isEmpty()) return;
+
+        try {
+            insert(dealershipId, batch);
+            counters.imported += batch.size();
+        } catch (DataAccessException batchFailure) {
+            // Something in the batch violates a DB constraint: retry row by row to find out which
+            for (PendingRow pending : batch) {
+                try {
+                    insert(dealershipId, List.of(pending));
+                    counters.imported++;
+                } catch (DataAccessException rowFailure) {
+                    counters.failed++;
+                    listener.onRowError(pending.row(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+        listener.onProgress(counters.imported + counters.failed, counters.imported, counters.failed);
+    }
+
+    private void insert(String dealershipId, List<PendingRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, pending) -> {
+                    VehicleRequestDTO v = pending.vehicle();
+                    ps.setString(1, UuidV7.next());
+                    ps.setString(2, dealershipId);
+                    ps.setString(3, v.make());
+                    ps.setString(4, v.model());
+                    ps.setInt(5, v.year());
+                    ps.setBigDecimal(6, v.price());
+                    ps.setInt(7, v.mileage());
+                    ps.setString(8, v.vin());
+                    ps.setString(9, v.condition().name());
+                    ps.setString(10, v.transmission().name());
+                    ps.setString(11, v.fuelType().name());
+                    ps.setString(12, v.bodyType().name());
+                    ps.setString(13, v.exteriorColor());
+                    ps.setString(14, v.interiorColor());
+                    ps.setString(15, v.description());
+                    ps.setBoolean(16, v.featured() != null && v.featured());
+                    ps.setString(17, VehicleStatus.AVAILABLE.name());
+                    ps.setTimestamp(18, now);
+                    ps.setTimestamp(19, now);
+                }));
+    }
+
+    private String validate(VehicleRequestDTO vehicle) {
+        Set<ConstraintViolation<VehicleRequestDTO>> violations = validator.validate(vehicle);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // ---- Row sources ----
+
+    private static class RowException extends Exception {
+        RowException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Yields one parsed row per call: empty for a blank line, null at end of input.
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        Optional<VehicleRequestDTO> next() throws IOException, RowException;
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        return () -> {
+            String line = reader.readLine();
+            if (line == null) return null;
+            if (line.isBlank()) return Optional.empty();
+            try {
+                return Optional.of(objectMapper.readValue(line, VehicleRequestDTO.class));
+            } catch (JacksonException e) {
+                throw new RowException("Invalid JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (CsvRecordReader.MalformedRecordException e) {
+            throw new BadRequestException("Invalid CSV header: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new BadRequestException("CSV file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Accept "fuelType", "fuel_type" and "Fuel Type" alike
+            columns.put(header.get(i).replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT), i);
+        }
+
+        return () -> {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (CsvRecordReader.MalformedRecordException e) {
+                throw new RowException(e.getMessage());
+            }
+            if (record == null) return null;
+            if (record.size() == 1 && record.getFirst().isBlank()) return Optional.empty();
+
+            try {
+                return Optional.of(new VehicleRequestDTO(
+                        text(record, columns, "make"),
+                        text(record, columns, "model"),
+                        integer(record, columns, "year"),
+                        decimal(record, columns, "price"),
+                        integer(record, columns, "mileage"),
+                        text(record, columns, "vin"),
+                        enumValue(record, columns, "condition", VehicleCondition.class),
+                        enumValue(record, columns, "transmission", Transmission.class),
+                        enumValue(record, columns, "fueltype", FuelType.class),
+                        enumValue(record, columns, "bodytype", BodyType.class),
+                        text(record, columns, "exteriorcolor"),
+                        text(record, columns, "interiorcolor"),
+                        text(record, columns, "description"),
+                        bool(record, columns, "featured")));
+            } catch (IllegalArgumentException e) {
+                throw new RowException(e.getMessage());
+            }
+        };
+    }
+
+    private static String text(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer integer(List<String> record, Map<String, Integer> columns, String column) {
+        String value = text(record, columns, column);
+        try {
+            return value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a whole number: '" + value + "'");
+        }
+    }
+
+    private static BigDecimal decimal(List<String> record, Map<String, Integer> columns, String column) {
+        String value = text(record, columns, column);
+        try {
+            return value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a number: '" + value + "'");
+        }
+    }
+
+    private static Boolean bool(List<String> record, Map<String, Integer> columns, String column) {
+        String value = text(record, columns, column);
+        return value != null ? Boolean.valueOf(value) : null;
+    }
+
+    private static <E extends Enum<E>> E enumValue(List<String> record, Map<String, Integer> columns, String column, Class<E> type) {
+        String value = text(record, columns, column);
+        if (value == null) return null;
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_"));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(column + ": unknown value '" + value + "'");
+        }
+    }
+
+    private static class Counters {
+        long imported;
+        long failed;
+    }
+}
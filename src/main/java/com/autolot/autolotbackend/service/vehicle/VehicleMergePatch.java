@@ -0,0 +1,126 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+import com.autolot.autolotbackend.exception.BadRequestException;
+import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
+import com.autolot.autolotbackend.model.entity.*;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a JSON Merge Patch (RFC 7396) to a vehicle.
+ *
+ * Only the fields present in the patch are converted and validated, against the same constraints
+ * as VehicleRequestDTO; null clears a field (and fails for required ones). Nothing is applied
+ * unless the whole patch is valid, and only fields whose value actually differs are set, so an
+ * unchanged vehicle stays clean and Hibernate issues no UPDATE at all.
+ */
+final class VehicleMergePatch {
+
+    private record Field<T>(Class<T> type, Function<Vehicle, T> getter, BiConsumer<Vehicle, T> setter) {
+
+        boolean differs(Vehicle vehicle, Object value) {
+            Object current = getter.apply(vehicle);
+            if (current instanceof BigDecimal a && value instanceof BigDecimal b) {
+                return a.compareTo(b) != 0; // 25000 and 25000.00 are the same price
+            }
+            return !Objects.equals(current, value);
+        }
+
+        void set(Vehicle vehicle, Object value) {
+            setter.accept(vehicle, type.cast(value));
+        }
+    }
+
+    private static final Map<String, Field<?>> FIELDS = Map.ofEntries(
+            Map.entry("make", new Field<>(String.class, Vehicle::getMake, Vehicle::setMake)),
+            Map.entry("model", new Field<>(String.class, Vehicle::getModel, Vehicle::setModel)),
+            Map.entry("year", new Field<>(Integer.class, Vehicle::getYear, Vehicle::setYear)),
+            Map.entry("price", new Field<>(BigDecimal.class, Vehicle::getPrice, Vehicle::setPrice)),
+            Map.entry("mileage", new Field<>(Integer.class, Vehicle::getMileage, Vehicle::setMileage)),
+            Map.entry("vin", new Field<>(String.class, Vehicle::getVin, Vehicle::setVin)),
+            Map.entry("condition", new Field<>(VehicleCondition.class, Vehicle::getCondition, Vehicle::setCondition)),
+            Map.entry("transmission", new Field<>(Transmission.class, Vehicle::getTransmission, Vehicle::setTransmission)),
+            Map.entry("fuelType", new Field<>(FuelType.class, Vehicle::getFuelType, Vehicle::setFuelType)),
+            Map.entry("bodyType", new Field<>(BodyType.class, Vehicle::getBodyType, Vehicle::setBodyType)),
+            Map.entry("exteriorColor", new Field<>(String.class, Vehicle::getExteriorColor, Vehicle::setExteriorColor)),
+            Map.entry("interiorColor", new Field<>(String.class, Vehicle::getInteriorColor, Vehicle::setInteriorColor)),
+            Map.entry("description", new Field<>(String.class, Vehicle::getDescription, Vehicle::setDescription)),
+            Map.entry("featured", new Field<>(Boolean.class, Vehicle::getFeatured, Vehicle::setFeatured)),
+            // Not part of VehicleRequestDTO: marking a unit SOLD / PENDING is a patch of its status
+            Map.entry("status", new Field<>(VehicleStatus.class, Vehicle::getStatus, Vehicle::setStatus)));
+
+    private VehicleMergePatch() {
+    }
+
+    /**
+     * Validates the patch and applies it. Returns false when it changes nothing.
+     *
+     * @throws BadRequestException for a non-object patch, unknown or read-only fields, values of the
+     *                             wrong type or constraint violations (all reported together)
+     */
+    static boolean apply(Vehicle vehicle, JsonNode patch, ObjectMapper objectMapper, Validator validator) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("A merge patch must be a JSON object");
+        }
+
+        Map<Field<?>, Object> changes = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : patch.properties()) {
+            String name = entry.getKey();
+            Field<?> field = FIELDS.get(name);
+            if (field == null) {
+                errors.add(name + ": unknown or read-only field");
+                continue;
+            }
+
+            Object value;
+            try {
+                value = entry.getValue().isNull() ? null : objectMapper.treeToValue(entry.getValue(), field.type());
+            } catch (JacksonException e) {
+                errors.add(name + ": expected " + field.type().getSimpleName());
+                continue;
+            }
+            if (name.equals("featured") && value == null) {
+                value = false;
+            }
+
+            String violations = violations(validator, name, value);
+            if (violations != null) {
+                errors.add(violations);
+                continue;
+            }
+            if (field.differs(vehicle, value)) {
+                changes.put(field, value);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new BadRequestException(String.join("; ", errors));
+        }
+        changes.forEach((field, value) -> field.set(vehicle, value));
+        return !changes.isEmpty();
+    }
+
+    private static String violations(Validator validator, String name, Object value) {
+        if (name.equals("status")) {
+            return value == null ? "status: status is required" : null;
+        }
+        Set<ConstraintViolation<VehicleRequestDTO>> violations = validator.validateValue(VehicleRequestDTO.class, name, value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> name + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -1,32 +1,74 @@
 package com.autolot.autolotbackend.service.vehicle;
 
+import com.autolot.autolotbackend.exception.PreconditionFailedException;
+import com.autolot.autolotbackend.exception.ResourceNotFoundException;
 import com.autolot.autolotbackend.mapper.VehicleMapper;
+import com.autolot.autolotbackend.model.dto.VehicleFilterDTO;
+import com.autolot.autolotbackend.model.dto.VehiclePageDTO;
 import com.autolot.autolotbackend.model.dto.VehicleRequestDTO;
 import com.autolot.autolotbackend.model.dto.VehicleResponseDTO;
+import com.autolot.autolotbackend.model.dto.VehicleSearchQuery;
+import com.autolot.autolotbackend.model.dto.VehicleSearchResultDTO;
+import com.autolot.autolotbackend.model.dto.VehicleSort;
 import com.autolot.autolotbackend.model.entity.Dealership;
 import com.autolot.autolotbackend.model.entity.Vehicle;
+import com.autolot.autolotbackend.model.entity.VehicleImage;
 import com.autolot.autolotbackend.model.entity.VehicleStatus;
 import com.autolot.autolotbackend.repository.DealershipRepository;
 import com.autolot.autolotbackend.repository.VehicleRepository;
+import com.autolot.autolotbackend.repository.VehicleSpecifications;
+import com.autolot.autolotbackend.service.FileUpload.HandleFileUpload;
+import com.autolot.autolotbackend.service.FileUpload.ImageStoredEvent;
+import com.autolot.autolotbackend.service.search.VehicleFacetIndex;
+import com.autolot.autolotbackend.service.search.VehicleTextIndex;
 import com.autolot.autolotbackend.tenant.TenantContext;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
-import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class VehicleService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @PersistenceContext
     private EntityManager entityManager;
 
     private final VehicleRepository vehicleRepository;
     private final DealershipRepository dealershipRepository;
+    private final VehicleFacetIndex vehicleFacetIndex;
+    private final VehicleTextIndex vehicleTextIndex;
+    private final HandleFileUpload handleFileUpload;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public record VersionedVehicle(long version, VehicleResponseDTO vehicle) {
+    }
 
     @Transactional
     public VehicleResponseDTO createVehicle(VehicleRequestDTO vehicleRequestDTO){
@@ -38,37 +80,245 @@ public class VehicleService {
         vehicle.setDealership(dealership);
         vehicle.setStatus(VehicleStatus.AVAILABLE);
 
-        return VehicleMapper.toDTO(vehicleRepository.save(vehicle));
+        Vehicle saved = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(dealershipId, saved, VehicleChangedEvent.Type.CREATED));
+        return VehicleMapper.toDTO(saved);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<VehicleResponseDTO> getAllVehicles(){
-        Session session = entityManager.unwrap(Session.class);
-
-        session.enableFilter("tenant_id")
-                .setParameter("tenant", TenantContext.getDealershipId());
+        enableTenantFilter();
 
         return vehicleRepository.findAll().stream()
                 .map(VehicleMapper::toDTO)
                 .toList();
     }
 
-    public VehicleResponseDTO getVehicleById(String id){
-        return VehicleMapper.toDTO(vehicleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Vehicle not found")));
+    /**
+     * Keyset-paginated listing: each page is a "WHERE (sortKey, id) < (cursor) ORDER BY ... LIMIT n"
+     * query, so the cost of a page doesn't grow with the size of the lot or how deep the client pages.
+     */
+    @Transactional(readOnly = true)
+    public VehiclePageDTO getVehiclePage(VehicleFilterDTO filter, VehicleSort sort, String cursor, Integer limit){
+        enableTenantFilter();
+
+        VehicleSort effectiveSort = sort != null ? sort : VehicleSort.NEWEST;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+
+        Window<Vehicle> window = vehicleRepository.findBy(VehicleSpecifications.matching(filter), query -> query
+                .sortBy(VehicleCursor.sortFor(effectiveSort))
+                .limit(pageSize)
+                .scroll(VehicleCursor.decode(effectiveSort, cursor)));
+
+        List<VehicleResponseDTO> items = window.getContent().stream()
+                .map(VehicleMapper::toDTO)
+                .toList();
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? VehicleCursor.encode(effectiveSort, window.positionAt(window.size() - 1))
+                : null;
+
+        return new VehiclePageDTO(items, nextCursor);
+    }
+
+    /**
+     * Conditional GET: vehicle is null when the client already holds the current version, in which
+     * case the vehicle isn't mapped and its images aren't loaded.
+     */
+    @Transactional(readOnly = true)
+    public VersionedVehicle getVehicleByIdIfModified(String id, LongPredicate clientHasVersion){
+        Vehicle vehicle = findOwnVehicle(id);
+        long version = vehicle.getVersion();
+        return new VersionedVehicle(version, clientHasVersion.test(version) ? null : VehicleMapper.toDTO(vehicle));
     }
 
+    /**
+     * Replaces the vehicle's fields. With an expectedVersion (from If-Match) a stale client is
+     * rejected up front; a writer that slips in after our read is caught by Hibernate's
+     * "UPDATE ... WHERE id = ? AND version = ?" and surfaces as an OptimisticLockingFailureException.
+     */
     @Transactional
-    public VehicleResponseDTO updateVehicle(String id, VehicleRequestDTO vehicleResponseDTO){
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Vehicle not found"));
+    public VehicleResponseDTO updateVehicle(String id, VehicleRequestDTO vehicleResponseDTO, Long expectedVersion){
+        Vehicle vehicle = findOwnVehicle(id);
+        if (expectedVersion != null && !expectedVersion.equals(vehicle.getVersion())) {
+            throw new PreconditionFailedException("Vehicle " + id + " is at version " + vehicle.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        VehicleStatus previousStatus = vehicle.getStatus();
         VehicleMapper.updateEntity(vehicle, vehicleResponseDTO);
-        return VehicleMapper.toDTO(vehicleRepository.save(vehicle));
+        // Flush now so the version check runs here and the response carries the new version
+        Vehicle saved = vehicleRepository.saveAndFlush(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getDealership().getId(), saved,
+                saved.getStatus() != previousStatus ? VehicleChangedEvent.Type.STATUS_CHANGED : VehicleChangedEvent.Type.UPDATED));
+        return VehicleMapper.toDTO(saved);
+    }
+
+    /**
+     * JSON Merge Patch of a vehicle (see VehicleMergePatch). Only the changed columns are written
+     * (@DynamicUpdate); when nothing changes there is no UPDATE, no version bump and no event.
+     */
+    @Transactional
+    public VehicleResponseDTO patchVehicle(String id, JsonNode patch, Long expectedVersion){
+        Vehicle vehicle = findOwnVehicle(id);
+        if (expectedVersion != null && !expectedVersion.equals(vehicle.getVersion())) {
+            throw new PreconditionFailedException("Vehicle " + id + " is at version " + vehicle.getVersion()
+                    + ", not " + expectedVersion);
+        }
+
+        VehicleStatus previousStatus = vehicle.getStatus();
+        if (!VehicleMergePatch.apply(vehicle, patch, objectMapper, validator)) {
+            return VehicleMapper.toDTO(vehicle);
+        }
+
+        Vehicle saved = vehicleRepository.saveAndFlush(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(saved.getDealership().getId(), saved,
+                saved.getStatus() != previousStatus ? VehicleChangedEvent.Type.STATUS_CHANGED : VehicleChangedEvent.Type.UPDATED));
+        return VehicleMapper.toDTO(saved);
+    }
+
+    /**
+     * Stores uploaded photos and appends them to the vehicle's gallery. Resized variants are
+     * generated in the background once this commits (see ImageVariantPipeline).
+     */
+    @Transactional
+    public VehicleResponseDTO addImages(String id, MultipartFile[] files){
+        Vehicle vehicle = findOwnVehicle(id);
+        // Images are part of the vehicle's representation (and ETag), but adding to the inverse
+        // side of the association doesn't dirty the vehicle itself
+        entityManager.lock(vehicle, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+
+        List<Path> storedFiles;
+        try {
+            storedFiles = handleFileUpload.storeFiles(files, vehicle.getDealership().getSlug(), vehicle.getId());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store vehicle images", e);
+        }
+
+        List<VehicleImage> images = vehicle.getVehicleImages();
+        for (Path storedFile : storedFiles) {
+            VehicleImage image = VehicleImage.builder()
+                    .vehicle(vehicle)
+                    .imageUrl(HandleFileUpload.publicUrl(storedFile))
+                    .displayOrder(images.size())
+                    .primaryPhoto(images.isEmpty())
+                    .build();
+            image.setDealership(vehicle.getDealership());
+            images.add(image);
+        }
+
+        Vehicle saved = vehicleRepository.saveAndFlush(vehicle);
+
+        // Images are the last storedFiles.size() entries; their ids exist after the flush
+        List<VehicleImage> added = saved.getVehicleImages().subList(images.size() - storedFiles.size(), images.size());
+        for (int i = 0; i < added.size(); i++) {
+            eventPublisher.publishEvent(new ImageStoredEvent(
+                    saved.getDealership().getId(), added.get(i).getId(), storedFiles.get(i)));
+        }
+        eventPublisher.publishEvent(new VehicleChangedEvent(
+                saved.getDealership().getId(), saved, VehicleChangedEvent.Type.UPDATED));
+
+        return VehicleMapper.toDTO(saved);
     }
 
     public void deleteVehicle(String id){
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Vehicle not found"));
+        Vehicle vehicle = findOwnVehicle(id);
         vehicleRepository.delete(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(
+                vehicle.getDealership().getId(), vehicle, VehicleChangedEvent.Type.DELETED));
+    }
+
+    /**
+     * Storefront search over the available vehicles of the current (subdomain) dealership; any
+     * status filter from the client is replaced. Filtering, sorting and facet counts are answered by
+     * the in-memory {@link VehicleFacetIndex}; only the requested page is loaded from the database.
+     */
+    @Transactional(readOnly = true)
+    public VehicleSearchResultDTO searchVehicles(VehicleSearchQuery query, VehicleSort sort, Integer offset, Integer limit){
+        VehicleFacetIndex.Result result = vehicleFacetIndex.search(
+                TenantContext.requireDealershipId(),
+                query.withStatus(Set.of(VehicleStatus.AVAILABLE)),
+                sortOrDefault(sort),
+                pageOffset(offset),
+                pageSize(limit));
+
+        // The status facet ignores the status filter, so it would count the sold and pending stock
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>(result.facets());
+        facets.remove("status");
+        return new VehicleSearchResultDTO(loadInOrder(result.vehicleIds()), result.total(), facets);
+    }
+
+    /**
+     * Ranked free-text search ("white diesel hilux 4x4") over the available vehicles of the current
+     * (subdomain) dealership. No facets are computed for text search, so the facets map is empty.
+     */
+    @Transactional(readOnly = true)
+    public VehicleSearchResultDTO textSearchVehicles(String text, Integer offset, Integer limit){
+        VehicleTextIndex.Result result = vehicleTextIndex.search(
+                TenantContext.requireDealershipId(),
+                text,
+                Set.of(VehicleStatus.AVAILABLE),
+                pageOffset(offset),
+                pageSize(limit));
+
+        return new VehicleSearchResultDTO(loadInOrder(result.vehicleIds()), result.total(), Map.of());
+    }
+
+    /**
+     * Public storefront listing: available vehicles for the current (subdomain) dealership,
+     * with facet counts for the filter sidebar.
+     */
+    @Transactional(readOnly = true)
+    public VehicleSearchResultDTO getPublicListing(VehicleSort sort, Integer offset, Integer limit){
+        VehicleSearchQuery available = new VehicleSearchQuery(
+                Set.of(VehicleStatus.AVAILABLE), null, null, null, null,
+                null, null, null, null, null, null, null, null);
+        return searchVehicles(available, sort, offset, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VehicleResponseDTO> getPublicFeatured(){
+        VehicleSearchQuery featured = new VehicleSearchQuery(
+                Set.of(VehicleStatus.AVAILABLE), null, null, null, null,
+                null, null, null, null, null, null, null, true);
+        return searchVehicles(featured, VehicleSort.NEWEST, 0, MAX_PAGE_SIZE).items();
+    }
+
+    // Paging parameters as the search methods apply them; callers that key caches on a page
+    // normalize with these too, so equivalent requests share an entry
+
+    public static VehicleSort sortOrDefault(VehicleSort sort){
+        return sort != null ? sort : VehicleSort.NEWEST;
+    }
+
+    public static int pageOffset(Integer offset){
+        return offset != null ? Math.max(offset, 0) : 0;
+    }
+
+    public static int pageSize(Integer limit){
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.clamp(limit, 1, MAX_PAGE_SIZE);
+    }
+
+    // Another dealership's vehicle is reported as not found, so ids can't be probed across tenants
+    private Vehicle findOwnVehicle(String id){
+        return vehicleRepository.findByIdAndDealership_Id(id, TenantContext.requireDealershipId())
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found"));
+    }
+
+    // findAllById doesn't keep the order we asked for, so re-apply the index's ordering
+    private List<VehicleResponseDTO> loadInOrder(List<String> vehicleIds){
+        Map<String, Vehicle> byId = vehicleRepository.findAllById(vehicleIds).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        return vehicleIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(VehicleMapper::toDTO)
+                .toList();
+    }
+
+    private void enableTenantFilter(){
+        Session session = entityManager.unwrap(Session.class);
+
+        session.enableFilter("tenant_id")
+                .setParameter("tenant", TenantContext.getDealershipId());
     }
 }
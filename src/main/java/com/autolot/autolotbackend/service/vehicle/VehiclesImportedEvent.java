@@ -0,0 +1,8 @@
+package com.autolot.autolotbackend.service.vehicle;
+
+/**
+ * Published after a bulk import wrote rows without going through JPA. Listeners holding derived
+ * per-tenant state should drop it and rebuild rather than expect per-vehicle events.
+ */
+public record VehiclesImportedEvent(String dealershipId, long imported) {
+}
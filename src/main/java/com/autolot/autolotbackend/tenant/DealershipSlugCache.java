@@ -0,0 +1,67 @@
+package com.autolot.autolotbackend.tenant;
+
+import com.autolot.autolotbackend.model.entity.Dealership;
+import com.autolot.autolotbackend.repository.DealershipRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of subdomain slug -> dealership id.
+ * Misses are cached too (for a shorter time) so requests for unknown subdomains
+ * don't reach the database on every hit.
+ */
+@Component
+public class DealershipSlugCache {
+
+    private final DealershipRepository dealershipRepository;
+    private final Cache<String, Optional<String>> cache;
+
+    public DealershipSlugCache(
+            DealershipRepository dealershipRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.tenant-cache.max-size:10000}") long maxSize,
+            @Value("${app.tenant-cache.ttl:10m}") Duration ttl,
+            @Value("${app.tenant-cache.negative-ttl:30s}") Duration negativeTtl
+    ) {
+        this.dealershipRepository = dealershipRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, Optional<String>>creating((slug, dealershipId) ->
+                        dealershipId.isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+
+        // Publishes cache.gets{result=hit|miss}, cache.evictions, cache.size under /actuator/metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dealership.slug");
+    }
+
+    /**
+     * Returns the id of the active dealership for the given slug, or empty if there is none.
+     */
+    public Optional<String> resolve(String slug) {
+        return cache.get(slug, key -> dealershipRepository.findBySlug(key)
+                .filter(Dealership::isActive)
+                .map(Dealership::getId));
+    }
+
+    /**
+     * Drops every entry pointing at this dealership, plus its current slug
+     * (which may be sitting in the cache as a miss).
+     */
+    public void evict(String dealershipId, String slug) {
+        if (slug != null) {
+            cache.invalidate(slug);
+        }
+        if (dealershipId != null) {
+            cache.asMap().values().removeIf(cached -> cached.filter(dealershipId::equals).isPresent());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.autolot.autolotbackend.tenant;
+
+import com.autolot.autolotbackend.model.entity.Dealership;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link DealershipSlugCache} in step with slug / active changes on {@link Dealership}.
+ * Spring injects this into Hibernate through its bean container.
+ */
+@Component
+public class DealershipSlugCacheListener {
+
+    private final DealershipSlugCache dealershipSlugCache;
+
+    // @Lazy: Hibernate builds listeners while the EntityManagerFactory is starting,
+    // and the cache depends on a repository that needs that same factory
+    public DealershipSlugCacheListener(@Lazy DealershipSlugCache dealershipSlugCache) {
+        this.dealershipSlugCache = dealershipSlugCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Dealership dealership) {
+        String dealershipId = dealership.getId();
+        String slug = dealership.getSlug();
+
+        // Evict after commit, otherwise a concurrent request could re-cache the old row
+        // between our eviction and the commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dealershipSlugCache.evict(dealershipId, slug);
+                }
+            });
+        } else {
+            dealershipSlugCache.evict(dealershipId, slug);
+        }
+    }
+}
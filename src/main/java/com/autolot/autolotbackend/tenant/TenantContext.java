@@ -1,17 +1,76 @@
 package com.autolot.autolotbackend.tenant;
 
+import com.autolot.autolotbackend.exception.ResourceNotFoundException;
+import jakarta.servlet.ServletException;
+
+import java.io.IOException;
+
+/**
+ * Holds the current request's dealership id.
+ *
+ * Filters bind it for the rest of the chain with {@link #runWithDealershipId}. By default it's
+ * kept in a ThreadLocal that is restored when the chain returns; in scoped-value mode (used with
+ * virtual threads, see TenantContextMode) it's an immutable ScopedValue binding instead, which
+ * can't leak onto another request and costs nothing to "clear".
+ */
 public class TenantContext {
+    private static final ScopedValue<String> scopedDealershipId = ScopedValue.newInstance();
     private static final ThreadLocal<String> dealershipId = new ThreadLocal<>();
 
-    public static void setDealershipId(String id){
-        dealershipId.set(id);
+    private static volatile boolean useScopedValues = false;
+
+    @FunctionalInterface
+    public interface TenantScopedOperation {
+        void run() throws IOException, ServletException;
+    }
+
+    static void useScopedValues(boolean enabled){
+        useScopedValues = enabled;
     }
 
     public static String getDealershipId(){
-        return dealershipId.get();
+        return scopedDealershipId.isBound() ? scopedDealershipId.get() : dealershipId.get();
+    }
+
+    public static String requireDealershipId(){
+        String id = getDealershipId();
+        if (id == null) {
+            throw new ResourceNotFoundException("Dealership not found");
+        }
+        return id;
     }
 
-    public static void clear(){
-        dealershipId.remove();
+    /**
+     * Runs the operation (usually the rest of the filter chain) with the given dealership id bound.
+     * Nested calls override the outer value for their duration.
+     */
+    public static void runWithDealershipId(String id, TenantScopedOperation operation) throws IOException, ServletException {
+        if (useScopedValues) {
+            try {
+                ScopedValue.where(scopedDealershipId, id).call(() -> {
+                    operation.run();
+                    return null;
+                });
+            } catch (IOException | ServletException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return;
+        }
+
+        // ThreadLocal values persist on the thread, and servlet containers reuse threads —
+        // always restore the previous value so the next request on this thread can't see ours
+        String previous = dealershipId.get();
+        dealershipId.set(id);
+        try {
+            operation.run();
+        } finally {
+            if (previous == null) {
+                dealershipId.remove();
+            } else {
+                dealershipId.set(previous);
+            }
+        }
     }
 }
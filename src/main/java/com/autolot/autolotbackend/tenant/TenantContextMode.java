@@ -0,0 +1,23 @@
+package com.autolot.autolotbackend.tenant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Switches {@link TenantContext} to ScopedValue bindings. Defaults to on whenever the servlet
+ * container runs requests on virtual threads (spring.threads.virtual.enabled).
+ */
+@Component
+public class TenantContextMode {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantContextMode.class);
+
+    public TenantContextMode(
+            @Value("${app.tenant-context.scoped-values:${spring.threads.virtual.enabled:false}}") boolean scopedValues
+    ) {
+        TenantContext.useScopedValues(scopedValues);
+        log.info("TenantContext uses {}", scopedValues ? "ScopedValue bindings" : "ThreadLocal");
+    }
+}
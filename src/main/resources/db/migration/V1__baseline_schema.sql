@@ -0,0 +1,73 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE dealership (
+    id         VARCHAR(255) PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    slug       VARCHAR(255) NOT NULL UNIQUE,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    phone      VARCHAR(255),
+    address    VARCHAR(255),
+    logo_url   VARCHAR(255),
+    about      TEXT,
+    active     BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE admin_user (
+    id              VARCHAR(255) PRIMARY KEY,
+    dealership_id   VARCHAR(255) REFERENCES dealership (id),
+    email           VARCHAR(255) NOT NULL UNIQUE,
+    hashed_password VARCHAR(255) NOT NULL,
+    full_name       VARCHAR(255) NOT NULL,
+    admin_role      VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE site_config (
+    id              VARCHAR(255) PRIMARY KEY,
+    tenant_id       VARCHAR(255) REFERENCES dealership (id),
+    layout_json     JSONB        NOT NULL,
+    theme           VARCHAR(255) NOT NULL,
+    primary_color   VARCHAR(255) NOT NULL,
+    secondary_color VARCHAR(255),
+    font_family     VARCHAR(255),
+    custom_css      TEXT,
+    updated_at      TIMESTAMP(6)
+);
+
+CREATE TABLE vehicle (
+    id             VARCHAR(255) PRIMARY KEY,
+    tenant_id      VARCHAR(255) REFERENCES dealership (id),
+    make           VARCHAR(255)   NOT NULL,
+    model          VARCHAR(255)   NOT NULL,
+    year           INTEGER        NOT NULL,
+    price          NUMERIC(19, 4) NOT NULL,
+    mileage        INTEGER        NOT NULL,
+    vin            VARCHAR(255),
+    condition      VARCHAR(255)   NOT NULL,
+    transmission   VARCHAR(255)   NOT NULL,
+    fuel_type      VARCHAR(255)   NOT NULL,
+    body_type      VARCHAR(255)   NOT NULL,
+    exterior_color VARCHAR(255)   NOT NULL,
+    interior_color VARCHAR(255),
+    description    TEXT,
+    featured       BOOLEAN,
+    status         VARCHAR(255)   NOT NULL,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6)
+);
+
+CREATE TABLE vehicle_image (
+    id            VARCHAR(255) PRIMARY KEY,
+    vehicle_id    VARCHAR(255) REFERENCES vehicle (id),
+    image_url     VARCHAR(255) NOT NULL,
+    thumbnail_url VARCHAR(255),
+    card_url      VARCHAR(255),
+    full_url      VARCHAR(255),
+    display_order INTEGER      NOT NULL,
+    primary_photo BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6)
+);
@@ -0,0 +1,27 @@
+-- Every tenant-scoped query starts with tenant_id = ? (Hibernate "tenant_id" filter or an explicit
+-- dealership id), so it leads each index; the remaining columns follow the filters and the
+-- keyset sort orders (created_at DESC, id DESC / price, id) used by the listings.
+
+-- Admin listing, NEWEST (default sort) with and without a status filter
+CREATE INDEX IF NOT EXISTS idx_vehicle_tenant_created ON vehicle (tenant_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_vehicle_tenant_status_created ON vehicle (tenant_id, status, created_at DESC, id DESC);
+
+-- PRICE_ASC / PRICE_DESC (scanned backwards) and min/max price filters
+CREATE INDEX IF NOT EXISTS idx_vehicle_tenant_price ON vehicle (tenant_id, price, id);
+CREATE INDEX IF NOT EXISTS idx_vehicle_tenant_status_price ON vehicle (tenant_id, status, price, id);
+
+-- Case-insensitive make / make+model filters (VehicleSpecifications compares lower(...))
+CREATE INDEX IF NOT EXISTS idx_vehicle_tenant_make_model ON vehicle (tenant_id, lower(make), lower(model));
+
+-- Featured strip: a handful of rows per tenant, so a partial index stays tiny
+CREATE INDEX IF NOT EXISTS idx_vehicle_tenant_featured ON vehicle (tenant_id, created_at DESC) WHERE featured;
+
+-- A VIN identifies one vehicle within a dealership; different dealerships may list the same car
+CREATE UNIQUE INDEX IF NOT EXISTS uq_vehicle_tenant_vin ON vehicle (tenant_id, vin) WHERE vin IS NOT NULL;
+
+-- Image collections are loaded by vehicle_id (batched IN lists) and ordered by display_order
+CREATE INDEX IF NOT EXISTS idx_vehicle_image_vehicle_order ON vehicle_image (vehicle_id, display_order);
+
+-- Foreign keys Postgres doesn't index on its own
+CREATE INDEX IF NOT EXISTS idx_admin_user_dealership ON admin_user (dealership_id);
+CREATE INDEX IF NOT EXISTS idx_site_config_tenant ON site_config (tenant_id);
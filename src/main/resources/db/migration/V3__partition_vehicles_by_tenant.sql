@@ -0,0 +1,94 @@
+-- Hash-partition vehicle and vehicle_image by tenant_id so a tenant-scoped query touches one
+-- partition: its indexes and vacuum work scale with that partition, not the whole fleet.
+--
+-- Postgres requires the partition key in every primary key / unique index, so the keys become
+-- (tenant_id, id). Ids stay globally unique in practice (time-ordered UUIDs); a plain index on
+-- id keeps lookups by id alone (findById, image variant updates) fast across partitions.
+-- vehicle_image gets its own copy of tenant_id so images partition alongside their vehicle.
+--
+-- The partition count (16) is fixed by this migration; changing it means another rewrite.
+
+ALTER TABLE vehicle RENAME TO vehicle_unpartitioned;
+ALTER TABLE vehicle_image RENAME TO vehicle_image_unpartitioned;
+-- Free the primary key index names for the new tables
+ALTER INDEX vehicle_pkey RENAME TO vehicle_unpartitioned_pkey;
+ALTER INDEX vehicle_image_pkey RENAME TO vehicle_image_unpartitioned_pkey;
+
+CREATE TABLE vehicle (
+    id             VARCHAR(255)   NOT NULL,
+    tenant_id      VARCHAR(255)   NOT NULL REFERENCES dealership (id),
+    make           VARCHAR(255)   NOT NULL,
+    model          VARCHAR(255)   NOT NULL,
+    year           INTEGER        NOT NULL,
+    price          NUMERIC(19, 4) NOT NULL,
+    mileage        INTEGER        NOT NULL,
+    vin            VARCHAR(255),
+    condition      VARCHAR(255)   NOT NULL,
+    transmission   VARCHAR(255)   NOT NULL,
+    fuel_type      VARCHAR(255)   NOT NULL,
+    body_type      VARCHAR(255)   NOT NULL,
+    exterior_color VARCHAR(255)   NOT NULL,
+    interior_color VARCHAR(255),
+    description    TEXT,
+    featured       BOOLEAN,
+    status         VARCHAR(255)   NOT NULL,
+    created_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    PRIMARY KEY (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+CREATE TABLE vehicle_image (
+    id            VARCHAR(255) NOT NULL,
+    tenant_id     VARCHAR(255) NOT NULL,
+    vehicle_id    VARCHAR(255) NOT NULL,
+    image_url     VARCHAR(255) NOT NULL,
+    thumbnail_url VARCHAR(255),
+    card_url      VARCHAR(255),
+    full_url      VARCHAR(255),
+    display_order INTEGER      NOT NULL,
+    primary_photo BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6),
+    PRIMARY KEY (tenant_id, id),
+    FOREIGN KEY (tenant_id, vehicle_id) REFERENCES vehicle (tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE vehicle_p%s PARTITION OF vehicle FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+        EXECUTE format('CREATE TABLE vehicle_image_p%s PARTITION OF vehicle_image FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+-- Rows without a dealership were unreachable through every tenant-scoped path; they aren't carried over
+INSERT INTO vehicle
+SELECT id, tenant_id, make, model, year, price, mileage, vin, condition, transmission, fuel_type, body_type,
+       exterior_color, interior_color, description, featured, status, created_at, updated_at
+FROM vehicle_unpartitioned
+WHERE tenant_id IS NOT NULL;
+
+INSERT INTO vehicle_image
+SELECT i.id, v.tenant_id, i.vehicle_id, i.image_url, i.thumbnail_url, i.card_url, i.full_url,
+       i.display_order, i.primary_photo, i.created_at
+FROM vehicle_image_unpartitioned i
+JOIN vehicle v ON v.id = i.vehicle_id;
+
+DROP TABLE vehicle_image_unpartitioned;
+DROP TABLE vehicle_unpartitioned;
+
+-- Indexes from V2, now created per partition through the parent
+CREATE INDEX idx_vehicle_tenant_created ON vehicle (tenant_id, created_at DESC, id DESC);
+CREATE INDEX idx_vehicle_tenant_status_created ON vehicle (tenant_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_vehicle_tenant_price ON vehicle (tenant_id, price, id);
+CREATE INDEX idx_vehicle_tenant_status_price ON vehicle (tenant_id, status, price, id);
+CREATE INDEX idx_vehicle_tenant_make_model ON vehicle (tenant_id, lower(make), lower(model));
+CREATE INDEX idx_vehicle_tenant_featured ON vehicle (tenant_id, created_at DESC) WHERE featured;
+CREATE UNIQUE INDEX uq_vehicle_tenant_vin ON vehicle (tenant_id, vin) WHERE vin IS NOT NULL;
+CREATE INDEX idx_vehicle_image_vehicle_order ON vehicle_image (vehicle_id, display_order);
+
+-- Lookups by id alone; the primary keys lead with tenant_id
+CREATE INDEX idx_vehicle_id ON vehicle (id);
+CREATE INDEX idx_vehicle_image_id ON vehicle_image (id);
+
+ANALYZE vehicle;
+ANALYZE vehicle_image;
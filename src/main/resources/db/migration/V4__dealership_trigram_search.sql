@@ -0,0 +1,10 @@
+-- DealershipRepository.searchDealership matches LOWER(name) / LOWER(email) LIKE '%term%'. A B-tree
+-- can't serve a leading wildcard, so every keystroke of the admin search scanned the whole table.
+-- Trigram GIN indexes on the same lower(...) expressions serve the unchanged query (a BitmapOr of
+-- the two); terms shorter than three characters still fall back to scanning the index.
+-- pg_trgm is a trusted extension, so the database owner can create it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_dealership_name_trgm ON dealership USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_dealership_email_trgm ON dealership USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- Optimistic locking for vehicles (@Version on Vehicle): every JPA update runs
+-- "UPDATE vehicle ... WHERE id = ? AND version = ?" and bumps the version, which the API exposes
+-- as the ETag. Existing rows and bulk-imported ones start at 0.
+
+ALTER TABLE vehicle ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Lets ImageVariantPipeline's backfill pass find images that still have no resized variants
+-- without scanning every image; the partial index only holds those rows.
+
+CREATE INDEX idx_vehicle_image_missing_variants ON vehicle_image (created_at) WHERE thumbnail_url IS NULL;
@@ -0,0 +1,9 @@
+-- Images whose variants can't be generated (unsupported or corrupt original, original missing)
+-- are marked instead of staying in the backfill's partial index and being re-read every pass.
+-- The index also gains id, so the backfill can page by keyset on (created_at, id).
+
+ALTER TABLE vehicle_image ADD COLUMN variants_failed_at TIMESTAMP;
+
+DROP INDEX idx_vehicle_image_missing_variants;
+CREATE INDEX idx_vehicle_image_missing_variants ON vehicle_image (created_at, id)
+    WHERE thumbnail_url IS NULL AND variants_failed_at IS NULL;
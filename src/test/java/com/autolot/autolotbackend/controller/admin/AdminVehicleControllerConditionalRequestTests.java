@@ -0,0 +1,198 @@
+package com.autolot.autolotbackend.controller.admin;
+
+import com.autolot.autolotbackend.model.entity.*;
+import com.autolot.autolotbackend.repository.DealershipRepository;
+import com.autolot.autolotbackend.repository.VehicleRepository;
+import com.autolot.autolotbackend.security.JwtUtil;
+import com.autolot.autolotbackend.service.vehicle.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET and PUT /api/admin/vehicles/{id} with ETags: If-None-Match revalidates, If-Match only
+ * accepts a single strong ETag, and vehicles of other dealerships don't exist.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.autolot.autolotbackend.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+class AdminVehicleControllerConditionalRequestTests {
+
+    private static final String UPDATE_BODY = """
+            {"make": "Toyota", "model": "Hilux", "year": 2020, "price": 24000, "mileage": 50000,
+             "condition": "USED", "transmission": "MANUAL", "fuelType": "DIESEL", "bodyType": "TRUCK",
+             "exteriorColor": "White"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DealershipRepository dealershipRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @MockitoSpyBean
+    private VehicleService vehicleService;
+
+    private Dealership dealership;
+    private Dealership otherDealership;
+    private Vehicle vehicle;
+    private String token;
+    private String otherToken;
+
+    @BeforeEach
+    void setUp() {
+        dealership = saveDealership("Conditional Motors", "conditional-");
+        otherDealership = saveDealership("Other Motors", "conditional-other-");
+        token = jwtUtil.generateToken("test-user", dealership.getId(), dealership.getEmail(), AdminRole.OWNER.name());
+        otherToken = jwtUtil.generateToken("other-user", otherDealership.getId(), otherDealership.getEmail(), AdminRole.OWNER.name());
+
+        Vehicle toSave = new Vehicle();
+        toSave.setDealership(dealership);
+        toSave.setMake("Toyota");
+        toSave.setModel("Hilux");
+        toSave.setYear(2020);
+        toSave.setPrice(new BigDecimal("25000"));
+        toSave.setMileage(50000);
+        toSave.setCondition(VehicleCondition.USED);
+        toSave.setTransmission(Transmission.MANUAL);
+        toSave.setFuelType(FuelType.DIESEL);
+        toSave.setBodyType(BodyType.TRUCK);
+        toSave.setExteriorColor("White");
+        toSave.setStatus(VehicleStatus.AVAILABLE);
+        vehicle = vehicleRepository.save(toSave);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.findById(vehicle.getId()).ifPresent(vehicleRepository::delete);
+        dealershipRepository.delete(dealership);
+        dealershipRepository.delete(otherDealership);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        String current = etag(vehicle.getVersion());
+
+        getVehicle(token, current)
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, current))
+                .andExpect(content().string(""));
+        // If-None-Match uses weak comparison
+        getVehicle(token, "W/" + current).andExpect(status().isNotModified());
+    }
+
+    @Test
+    void staleIfNoneMatchReturnsTheVehicle() throws Exception {
+        getVehicle(token, etag(vehicle.getVersion() + 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(vehicle.getVersion())));
+    }
+
+    @Test
+    void weakIfMatchIsRejected() throws Exception {
+        updateVehicle(token, "W/" + etag(vehicle.getVersion()))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(currentVersion()).isEqualTo(vehicle.getVersion());
+    }
+
+    @Test
+    void malformedIfMatchIsRejected() throws Exception {
+        updateVehicle(token, String.valueOf(vehicle.getVersion())).andExpect(status().isPreconditionFailed());
+        updateVehicle(token, "\"not-a-version\"").andExpect(status().isPreconditionFailed());
+        updateVehicle(token, etag(vehicle.getVersion()) + ", " + etag(vehicle.getVersion() + 1))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(currentVersion()).isEqualTo(vehicle.getVersion());
+    }
+
+    @Test
+    void matchingIfMatchIsApplied() throws Exception {
+        updateVehicle(token, etag(vehicle.getVersion()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(vehicle.getVersion() + 1)));
+    }
+
+    @Test
+    void concurrentModificationIsPreconditionFailed() throws Exception {
+        // What Hibernate's versioned UPDATE raises when another writer committed after our read
+        doThrow(new ObjectOptimisticLockingFailureException(Vehicle.class, vehicle.getId()))
+                .when(vehicleService).updateVehicle(eq(vehicle.getId()), any(), any());
+
+        updateVehicle(token, null)
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void otherDealershipsVehicleIsNotFound() throws Exception {
+        getVehicle(otherToken, null).andExpect(status().isNotFound());
+        updateVehicle(otherToken, null).andExpect(status().isNotFound());
+
+        assertThat(currentVersion()).isEqualTo(vehicle.getVersion());
+    }
+
+    private Dealership saveDealership(String name, String slugPrefix) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return dealershipRepository.save(Dealership.builder()
+                .name(name)
+                .slug(slugPrefix + suffix)
+                .email(slugPrefix + suffix + "@example.com")
+                .active(true)
+                .build());
+    }
+
+    private ResultActions getVehicle(String bearer, String ifNoneMatch) throws Exception {
+        var request = get("/api/admin/vehicles/{id}", vehicle.getId())
+                .header("Authorization", "Bearer " + bearer);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private ResultActions updateVehicle(String bearer, String ifMatch) throws Exception {
+        var request = put("/api/admin/vehicles/{id}", vehicle.getId())
+                .header("Authorization", "Bearer " + bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UPDATE_BODY);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private long currentVersion() {
+        return vehicleRepository.findById(vehicle.getId()).orElseThrow().getVersion();
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,165 @@
+package com.autolot.autolotbackend.controller.admin;
+
+import com.autolot.autolotbackend.model.entity.*;
+import com.autolot.autolotbackend.repository.DealershipRepository;
+import com.autolot.autolotbackend.repository.VehicleRepository;
+import com.autolot.autolotbackend.security.JwtUtil;
+import com.autolot.autolotbackend.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /api/admin/vehicles/{id} with a JSON Merge Patch: unchanged values write nothing,
+ * invalid patches are rejected whole, and If-Match guards against lost updates.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.autolot.autolotbackend.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+class AdminVehicleControllerMergePatchTests {
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DealershipRepository dealershipRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Dealership dealership;
+    private Vehicle vehicle;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        dealership = dealershipRepository.save(Dealership.builder()
+                .name("Merge Patch Motors")
+                .slug("merge-patch-" + suffix)
+                .email("merge-patch-" + suffix + "@example.com")
+                .active(true)
+                .build());
+        token = jwtUtil.generateToken("test-user", dealership.getId(), dealership.getEmail(), AdminRole.OWNER.name());
+
+        Vehicle toSave = new Vehicle();
+        toSave.setDealership(dealership);
+        toSave.setMake("Toyota");
+        toSave.setModel("Hilux");
+        toSave.setYear(2020);
+        toSave.setPrice(new BigDecimal("25000"));
+        toSave.setMileage(50000);
+        toSave.setCondition(VehicleCondition.USED);
+        toSave.setTransmission(Transmission.MANUAL);
+        toSave.setFuelType(FuelType.DIESEL);
+        toSave.setBodyType(BodyType.TRUCK);
+        toSave.setExteriorColor("White");
+        toSave.setStatus(VehicleStatus.AVAILABLE);
+        vehicle = vehicleRepository.save(toSave);
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.findById(vehicle.getId()).ifPresent(vehicleRepository::delete);
+        dealershipRepository.delete(dealership);
+    }
+
+    @Test
+    void patchWithUnchangedValuesWritesNothing() throws Exception {
+        SqlStatementCounter.reset();
+        patchVehicle("{\"make\": \"Toyota\", \"mileage\": 50000, \"status\": \"AVAILABLE\"}", null)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(vehicle.getVersion())));
+
+        assertThat(SqlStatementCounter.updates()).isZero();
+        assertThat(currentVersion()).isEqualTo(vehicle.getVersion());
+    }
+
+    @Test
+    void priceWithAnotherScaleIsUnchanged() throws Exception {
+        SqlStatementCounter.reset();
+        // One of these differs in scale from what the price column returns, whatever its scale
+        patchVehicle("{\"price\": 25000}", null).andExpect(status().isOk());
+        patchVehicle("{\"price\": 25000.00}", null).andExpect(status().isOk());
+
+        assertThat(SqlStatementCounter.updates()).isZero();
+        assertThat(currentVersion()).isEqualTo(vehicle.getVersion());
+    }
+
+    @Test
+    void changedFieldIsWrittenAndBumpsVersion() throws Exception {
+        patchVehicle("{\"price\": 24000}", etag(vehicle.getVersion()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(vehicle.getVersion() + 1)));
+
+        Vehicle patched = vehicleRepository.findById(vehicle.getId()).orElseThrow();
+        assertThat(patched.getPrice()).isEqualByComparingTo("24000");
+        assertThat(patched.getVersion()).isEqualTo(vehicle.getVersion() + 1);
+    }
+
+    @Test
+    void nullOnRequiredFieldIsRejected() throws Exception {
+        patchVehicle("{\"make\": null}", null)
+                .andExpect(status().isBadRequest());
+
+        assertThat(vehicleRepository.findById(vehicle.getId()).orElseThrow().getMake()).isEqualTo("Toyota");
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        patchVehicle("{\"price\": 24000, \"colour\": \"Red\"}", null)
+                .andExpect(status().isBadRequest());
+
+        // Nothing from a rejected patch is applied, not even its valid fields
+        assertThat(currentVersion()).isEqualTo(vehicle.getVersion());
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        String original = etag(vehicle.getVersion());
+        patchVehicle("{\"mileage\": 51000}", original).andExpect(status().isOk());
+
+        patchVehicle("{\"mileage\": 52000}", original)
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(vehicleRepository.findById(vehicle.getId()).orElseThrow().getMileage()).isEqualTo(51000);
+    }
+
+    private ResultActions patchVehicle(String body, String ifMatch) throws Exception {
+        var request = patch("/api/admin/vehicles/{id}", vehicle.getId())
+                .header("Authorization", "Bearer " + token)
+                .contentType(MERGE_PATCH_JSON)
+                .content(body);
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private long currentVersion() {
+        return vehicleRepository.findById(vehicle.getId()).orElseThrow().getVersion();
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+}
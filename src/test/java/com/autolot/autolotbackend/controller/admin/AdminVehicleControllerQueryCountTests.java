@@ -0,0 +1,116 @@
+package com.autolot.autolotbackend.controller.admin;
+
+import com.autolot.autolotbackend.model.entity.*;
+import com.autolot.autolotbackend.repository.DealershipRepository;
+import com.autolot.autolotbackend.repository.VehicleRepository;
+import com.autolot.autolotbackend.security.JwtUtil;
+import com.autolot.autolotbackend.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards list endpoints against N+1 regressions: the number of SQL statements per request
+ * must not grow with the number of vehicles (and images) being listed.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.autolot.autolotbackend.support.SqlStatementCounter")
+@AutoConfigureMockMvc
+class AdminVehicleControllerQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DealershipRepository dealershipRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Dealership dealership;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        dealership = dealershipRepository.save(Dealership.builder()
+                .name("Query Count Motors")
+                .slug("query-count-" + suffix)
+                .email("query-count-" + suffix + "@example.com")
+                .active(true)
+                .build());
+        token = jwtUtil.generateToken("test-user", dealership.getId(), dealership.getEmail(), AdminRole.OWNER.name());
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll(vehicleRepository.findAll().stream()
+                .filter(v -> v.getDealership() != null && dealership.getId().equals(v.getDealership().getId()))
+                .toList());
+        dealershipRepository.delete(dealership);
+    }
+
+    @Test
+    void listQueryCountDoesNotGrowWithInventory() throws Exception {
+        seedVehicles(2);
+        int small = countStatements("/api/admin/vehicles?limit=50");
+
+        seedVehicles(30);
+        int large = countStatements("/api/admin/vehicles?limit=50");
+
+        assertThat(large)
+                .as("SQL statements for 32 vehicles vs 2 vehicles (N+1 on vehicle images?)")
+                .isEqualTo(small);
+    }
+
+    private int countStatements(String url) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return SqlStatementCounter.count();
+    }
+
+    private void seedVehicles(int count) {
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = new Vehicle();
+            vehicle.setDealership(dealership);
+            vehicle.setMake("Toyota");
+            vehicle.setModel("Hilux");
+            vehicle.setYear(2020);
+            vehicle.setPrice(BigDecimal.valueOf(300000 + i));
+            vehicle.setMileage(50000);
+            vehicle.setCondition(VehicleCondition.USED);
+            vehicle.setTransmission(Transmission.MANUAL);
+            vehicle.setFuelType(FuelType.DIESEL);
+            vehicle.setBodyType(BodyType.TRUCK);
+            vehicle.setExteriorColor("White");
+            vehicle.setStatus(VehicleStatus.AVAILABLE);
+
+            for (int order = 0; order < 3; order++) {
+                VehicleImage image = VehicleImage.builder()
+                        .vehicle(vehicle)
+                        .imageUrl("/uploads/test/" + UUID.randomUUID() + ".jpg")
+                        .displayOrder(order)
+                        .primaryPhoto(order == 0)
+                        .build();
+                image.setDealership(dealership);
+                vehicle.getVehicleImages().add(image);
+            }
+            vehicleRepository.save(vehicle);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.autolot.autolotbackend.controller.storefront;
+
+import com.autolot.autolotbackend.service.FileUpload.HandleFileUpload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Range requests against {@link PublicImageController}, on a 100-byte file whose byte i is i.
+ */
+class PublicImageControllerRangeTests {
+
+    private static final String IMAGE = HandleFileUpload.PUBLIC_IMAGE_PATH + "dealer/vehicle-1/photo-thumb.jpg";
+    private static final int SIZE = 100;
+
+    @TempDir
+    Path uploadDirectory;
+
+    private MockMvc mockMvc;
+    private byte[] bytes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bytes = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            bytes[i] = (byte) i;
+        }
+        Path folder = Files.createDirectories(uploadDirectory.resolve("dealer").resolve("vehicle-1"));
+        Files.write(folder.resolve("photo-thumb.jpg"), bytes);
+        Files.write(folder.resolve("photo.jpg"), bytes);
+
+        HandleFileUpload handleFileUpload = new HandleFileUpload();
+        ReflectionTestUtils.setField(handleFileUpload, "uploadDirectory", uploadDirectory.toString());
+        mockMvc = MockMvcBuilders.standaloneSetup(new PublicImageController(handleFileUpload)).build();
+    }
+
+    @Test
+    void withoutRangeTheWholeFileIsSent() throws Exception {
+        mockMvc.perform(get(IMAGE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void closedRange() throws Exception {
+        expectPartial(range("bytes=10-19"), 10, 19);
+    }
+
+    @Test
+    void suffixRangeIsTheLastBytes() throws Exception {
+        expectPartial(range("bytes=-10"), 90, 99);
+        // Longer than the file: all of it
+        expectPartial(range("bytes=-500"), 0, 99);
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() throws Exception {
+        expectPartial(range("bytes=95-"), 95, 99);
+        // An end past the file is cut to its last byte
+        expectPartial(range("bytes=90-1000"), 90, 99);
+    }
+
+    @Test
+    void multipleRangesAreIgnored() throws Exception {
+        range("bytes=0-9,20-29")
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void otherUnitsAreIgnored() throws Exception {
+        range("items=0-9")
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void rangeOutsideTheFileIsNotSatisfiable() throws Exception {
+        range("bytes=100-")
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + SIZE));
+        range("bytes=-0")
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void ifRangeWithTheCurrentEtagGetsTheRange() throws Exception {
+        String etag = currentEtag();
+
+        mockMvc.perform(get(IMAGE).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 0, 10)));
+    }
+
+    @Test
+    void ifRangeWithAnotherEtagGetsTheWholeFile() throws Exception {
+        mockMvc.perform(get(IMAGE).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        mockMvc.perform(get(IMAGE).header(HttpHeaders.IF_NONE_MATCH, currentEtag()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void originalsAreNotServed() throws Exception {
+        mockMvc.perform(get(HandleFileUpload.PUBLIC_IMAGE_PATH + "dealer/vehicle-1/photo.jpg"))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions range(String range) throws Exception {
+        return mockMvc.perform(get(IMAGE).header(HttpHeaders.RANGE, range));
+    }
+
+    private void expectPartial(ResultActions result, int start, int end) throws Exception {
+        result.andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + SIZE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, end - start + 1))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, start, end + 1)));
+    }
+
+    private String currentEtag() throws Exception {
+        return mockMvc.perform(get(IMAGE)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
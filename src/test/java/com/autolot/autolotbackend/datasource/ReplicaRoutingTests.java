@@ -0,0 +1,172 @@
+package com.autolot.autolotbackend.datasource;
+
+import com.autolot.autolotbackend.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing decisions of {@link ReplicaRouting} against mocked pools; health checks are run by hand.
+ * Against real databases: docker compose --profile replica up, then app.read-replicas.enabled=true.
+ */
+class ReplicaRoutingTests {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private ReplicaRouting routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReplicaRouting(primary, List.of(new ReplicaRouting.Replica("replica-1", replica)),
+                Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readsGoToReplicaAndWritesToPrimary() throws SQLException {
+        assertThat(routing.readDataSource().getConnection()).isSameAs(replicaConnection);
+        assertThat(routing.writeDataSource().getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void dealershipReadsItsOwnWritesFromPrimaryOnceCommitted() throws Exception {
+        beginTransaction(false);
+        connectAs("writer");
+        assertThat(readAs("writer")).as("before commit").isSameAs(replicaConnection);
+
+        endTransaction(true);
+        assertThat(readAs("writer")).isSameAs(primaryConnection);
+        assertThat(readAs("someone-else")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void rolledBackWritesDoNotMakeReadsSticky() throws Exception {
+        beginTransaction(false);
+        connectAs("writer");
+        endTransaction(false);
+
+        assertThat(readAs("writer")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotMakeReadsSticky() throws Exception {
+        beginTransaction(true);
+        connectAs("reader");
+        endTransaction(true);
+
+        assertThat(readAs("reader")).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() throws SQLException {
+        ResultSet lag = mockLagQuery();
+
+        when(lag.getDouble(2)).thenReturn(30.0);
+        routing.checkReplicas();
+        assertThat(routing.readDataSource().getConnection()).isSameAs(primaryConnection);
+
+        when(lag.getDouble(2)).thenReturn(0.0);
+        routing.checkReplicas();
+        assertThat(routing.readDataSource().getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void replicaThatStoppedStreamingIsSkippedEvenWithNoApparentLag() throws SQLException {
+        ResultSet lag = mockLagQuery();
+        when(lag.getDouble(2)).thenReturn(0.0);
+
+        when(lag.getBoolean(1)).thenReturn(true);
+        routing.checkReplicas();
+        assertThat(routing.readDataSource().getConnection()).isSameAs(primaryConnection);
+
+        when(lag.getBoolean(1)).thenReturn(false);
+        routing.checkReplicas();
+        assertThat(routing.readDataSource().getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThat(routing.readDataSource().getConnection()).isSameAs(primaryConnection);
+
+        routing.checkReplicas();
+        assertThat(routing.readDataSource().getConnection()).isSameAs(primaryConnection);
+    }
+
+    private ResultSet mockLagQuery() throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet lag = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+        return lag;
+    }
+
+    // What Spring's transaction manager sets up around a @Transactional method
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void endTransaction(boolean commit) {
+        if (commit) {
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private void connectAs(String dealershipId) throws Exception {
+        TenantContext.runWithDealershipId(dealershipId, () -> {
+            try {
+                routing.writeDataSource().getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private Connection readAs(String dealershipId) throws Exception {
+        AtomicReference<Connection> connection = new AtomicReference<>();
+        TenantContext.runWithDealershipId(dealershipId, () -> {
+            try {
+                connection.set(routing.readDataSource().getConnection());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return connection.get();
+    }
+}
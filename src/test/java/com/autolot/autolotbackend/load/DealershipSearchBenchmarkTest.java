@@ -0,0 +1,145 @@
+package com.autolot.autolotbackend.load;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Typeahead latency of DealershipRepository.searchDealership at 100k dealerships, without and
+ * with the V4 trigram indexes.
+ *
+ * Both variants are built in their own schema of the autolot_perf database (rebuilt only when the
+ * size changes). Each search types a term one character at a time, like the admin search box,
+ * and runs the page and count queries a Page&lt;Dealership&gt; needs, in the shape Hibernate emits.
+ *
+ * Run with: mvn test -Pload-test -Dtest=DealershipSearchBenchmarkTest [-Dperf.search.dealerships=100000]
+ */
+@Tag("load")
+class DealershipSearchBenchmarkTest {
+
+    private static final int DEALERSHIPS = Integer.getInteger("perf.search.dealerships", 100_000);
+    private static final int SEARCHES = Integer.getInteger("perf.search.searches", 300);
+
+    private static final String SERVER_URL = System.getProperty("perf.serverUrl", "jdbc:postgresql://localhost:5432/");
+    private static final String DATABASE = System.getProperty("perf.database", "autolot_perf");
+    private static final String DB_USERNAME = System.getProperty("perf.username", "admin");
+    private static final String DB_PASSWORD = System.getProperty("perf.password", "mypassword");
+
+    private static final String PAGE_SQL = "SELECT d.id, d.name, d.slug, d.email FROM dealership d " +
+            "WHERE lower(d.name) LIKE lower(('%' || ? || '%')) OR lower(d.email) LIKE lower(('%' || ? || '%')) " +
+            "ORDER BY d.name OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY";
+    private static final String COUNT_SQL = "SELECT count(d.id) FROM dealership d " +
+            "WHERE lower(d.name) LIKE lower(('%' || ? || '%')) OR lower(d.email) LIKE lower(('%' || ? || '%'))";
+
+    // Words the generated names and emails are made of, so most terms have matches
+    private static final List<String> TERMS = List.of(
+            "sunrise", "motors", "autohaus", "highveld", "coastal", "premier", "sales@", "cars", "garage", "durban");
+
+    @Test
+    void trigramVersusSequentialScan() throws Exception {
+        PerformanceDataSeeder.createDatabaseIfMissing(SERVER_URL + "postgres", DATABASE, DB_USERNAME, DB_PASSWORD);
+
+        try (Connection connection = DriverManager.getConnection(SERVER_URL + DATABASE, DB_USERNAME, DB_PASSWORD)) {
+            buildIfMissing(connection, "bench_search_plain", false);
+            buildIfMissing(connection, "bench_search_trgm", true);
+
+            Histogram plain = measure(connection, "bench_search_plain");
+            Histogram trigram = measure(connection, "bench_search_trgm");
+
+            System.out.println("=== Dealership search: " + DEALERSHIPS + " dealerships, " + SEARCHES
+                    + " typed terms (page + count per keystroke) ===");
+            print("seq scan", plain);
+            print("trigram", trigram);
+
+            assertThat(plain.getTotalCount()).isEqualTo(trigram.getTotalCount()).isPositive();
+        }
+    }
+
+    private static Histogram measure(Connection connection, String schema) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + schema + ", public");
+        }
+        Histogram histogram = new Histogram(3);
+        Random random = new Random(11);
+        try (PreparedStatement page = connection.prepareStatement(PAGE_SQL);
+             PreparedStatement count = connection.prepareStatement(COUNT_SQL)) {
+            for (int i = 0; i < SEARCHES; i++) {
+                String term = TERMS.get(random.nextInt(TERMS.size()));
+                // Keystrokes from the third character on, when a typeahead starts querying
+                for (int length = 3; length <= term.length(); length++) {
+                    String typed = term.substring(0, length);
+                    long start = System.nanoTime();
+                    drain(page, typed);
+                    drain(count, typed);
+                    histogram.recordValue((System.nanoTime() - start) / 1000);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private static void drain(PreparedStatement statement, String term) throws SQLException {
+        statement.setString(1, term);
+        statement.setString(2, term);
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                // drain
+            }
+        }
+    }
+
+    private static void print(String label, Histogram histogram) {
+        System.out.printf("%-9s keystrokes=%d p50=%.2fms p99=%.2fms max=%.2fms%n", label, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static void buildIfMissing(Connection connection, String schema, boolean trigram) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            statement.execute("SET search_path TO " + schema + ", public");
+
+            try (ResultSet existing = statement.executeQuery(
+                    "SELECT count(*) FROM information_schema.tables WHERE table_schema = '" + schema + "' AND table_name = 'dealership'")) {
+                existing.next();
+                if (existing.getLong(1) > 0) {
+                    try (ResultSet count = statement.executeQuery("SELECT count(*) FROM dealership")) {
+                        count.next();
+                        if (count.getLong(1) == DEALERSHIPS) return;
+                    }
+                }
+            }
+
+            statement.execute("DROP TABLE IF EXISTS dealership");
+            statement.execute("CREATE TABLE dealership (id VARCHAR(255) PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+                    "slug VARCHAR(255) NOT NULL UNIQUE, email VARCHAR(255) NOT NULL UNIQUE)");
+            statement.execute("""
+                    INSERT INTO dealership (id, name, slug, email)
+                    SELECT md5(g::text),
+                           (ARRAY['Sunrise','Highveld','Coastal','Premier','Metro','Valley','Summit','Karoo'])[1 + g % 8] || ' ' ||
+                           (ARRAY['Motors','Autohaus','Cars','Garage','Auto Mall','Dealers'])[1 + (g / 8) % 6] || ' ' || g,
+                           'dealer-' || g,
+                           'sales@dealer' || g || '.' || (ARRAY['durban','pretoria','capetown','gqeberha'])[1 + g % 4] || '.co.za'
+                    FROM generate_series(1, %d) g
+                    """.formatted(DEALERSHIPS));
+            if (trigram) {
+                // Same indexes as V4__dealership_trigram_search.sql
+                statement.execute("CREATE INDEX ON dealership USING gin (lower(name) gin_trgm_ops)");
+                statement.execute("CREATE INDEX ON dealership USING gin (lower(email) gin_trgm_ops)");
+            }
+            statement.execute("ANALYZE dealership");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.autolot.autolotbackend.load;
+
+import com.autolot.autolotbackend.AutolotBackendApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Release gate for endpoint latency. Seeds a dedicated database (autolot_perf on the
+ * docker-compose Postgres) with hundreds of dealerships and 100k+ vehicles, then drives each
+ * endpoint with concurrent clients through the full filter chain and records an HdrHistogram
+ * per endpoint. Fails if p50/p99 or throughput regress beyond the stored baseline.
+ *
+ * Run with: mvn test -Pload-test -Dtest=EndpointLatencyRegressionTest
+ * Record a new baseline (e.g. after an accepted change): add -Dperf.updateBaseline=true
+ */
+@Tag("load")
+class EndpointLatencyRegressionTest {
+
+    private static final int TENANTS = Integer.getInteger("perf.tenants", 200);
+    private static final int VEHICLES_PER_TENANT = Integer.getInteger("perf.vehiclesPerTenant", 500);
+    private static final int IMAGES_PER_VEHICLE = Integer.getInteger("perf.imagesPerVehicle", 3);
+    private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 100);
+    private static final int WARMUP_SECONDS = Integer.getInteger("perf.warmupSeconds", 10);
+    private static final int SECONDS = Integer.getInteger("perf.seconds", 30);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.20"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("perf.updateBaseline");
+    private static final Path BASELINE = Path.of(System.getProperty("perf.baseline", "src/test/resources/perf-baseline.json"));
+    private static final Path RESULTS = Path.of("target/perf-results.json");
+
+    private static final String SERVER_URL = System.getProperty("perf.serverUrl", "jdbc:postgresql://localhost:5432/");
+    private static final String DATABASE = System.getProperty("perf.database", "autolot_perf");
+    private static final String DB_USERNAME = System.getProperty("perf.username", "admin");
+    private static final String DB_PASSWORD = System.getProperty("perf.password", "mypassword");
+
+    // Logging in is bcrypt-bound; a pool of tokens spreads admin traffic over enough tenants
+    private static final int TOKENS = Math.min(TENANTS, 50);
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Test
+    void endpointLatenciesStayWithinBaseline() throws Exception {
+        PerformanceDataSeeder.createDatabaseIfMissing(SERVER_URL + "postgres", DATABASE, DB_USERNAME, DB_PASSWORD);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AutolotBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        // Every client is localhost; throttling would measure the limiter, not the endpoints
+                        "app.rate-limit.enabled=false",
+                        "spring.datasource.url=" + SERVER_URL + DATABASE + "?reWriteBatchedInserts=true",
+                        "spring.datasource.username=" + DB_USERNAME,
+                        "spring.datasource.password=" + DB_PASSWORD)
+                .run()) {
+            new PerformanceDataSeeder(context.getBean(JdbcTemplate.class), TENANTS, VEHICLES_PER_TENANT, IMAGES_PER_VEHICLE)
+                    .seedIfMissing();
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            List<String> tokens = new ArrayList<>(TOKENS);
+            for (int tenant = 0; tenant < TOKENS; tenant++) {
+                HttpResponse<String> response = client.send(loginRequest(baseUrl, tenant), HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = TOKEN.matcher(response.body());
+                assertThat(matcher.find()).as("token in " + response.body()).isTrue();
+                tokens.add(matcher.group(1));
+            }
+
+            Map<String, IntFunction<HttpRequest>> endpoints = new LinkedHashMap<>();
+            endpoints.put("POST /api/auth/login", tenant -> loginRequest(baseUrl, tenant));
+            endpoints.put("GET /api/admin/vehicles", tenant -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/vehicles?limit=20"))
+                    .header("Authorization", "Bearer " + tokens.get(tenant % TOKENS))
+                    .GET()
+                    .build());
+            endpoints.put("GET /api/public/vehicles", tenant -> publicRequest(baseUrl + "/api/public/vehicles", tenant));
+            endpoints.put("GET /api/public/vehicles/search", tenant -> publicRequest(
+                    baseUrl + "/api/public/vehicles/search?bodyType=SUV&maxPrice=600000&sort=PRICE_ASC", tenant));
+
+            Map<String, PerformanceBaseline.EndpointResult> results = new LinkedHashMap<>();
+            for (Map.Entry<String, IntFunction<HttpRequest>> endpoint : endpoints.entrySet()) {
+                // Warm-up pass: JIT, connection pools and caches; its numbers are discarded
+                drive(client, endpoint.getValue(), WARMUP_SECONDS);
+                results.put(endpoint.getKey(), drive(client, endpoint.getValue(), SECONDS));
+            }
+
+            System.out.println("=== Endpoint latency: " + TENANTS + " tenants x " + VEHICLES_PER_TENANT + " vehicles, "
+                    + CONCURRENCY + " clients, " + SECONDS + "s per endpoint ===");
+            results.forEach((endpoint, result) -> System.out.printf(
+                    "%-34s requests=%d errors=%d throughput=%.1f req/s p50=%.1fms p99=%.1fms%n",
+                    endpoint, result.requests(), result.errors(), result.throughput(), result.p50Millis(), result.p99Millis()));
+            PerformanceBaseline.write(RESULTS, results);
+
+            if (UPDATE_BASELINE) {
+                PerformanceBaseline.write(BASELINE, results);
+                System.out.println("Baseline written to " + BASELINE);
+                return;
+            }
+
+            Map<String, PerformanceBaseline.EndpointResult> baseline = PerformanceBaseline.read(BASELINE);
+            if (baseline.isEmpty()) {
+                System.out.println("No baseline at " + BASELINE + "; record one with -Dperf.updateBaseline=true");
+            }
+            assertThat(PerformanceBaseline.regressions(baseline, results, TOLERANCE))
+                    .as("regressions beyond %.0f%% of %s", TOLERANCE * 100, BASELINE)
+                    .isEmpty();
+        }
+    }
+
+    private static PerformanceBaseline.EndpointResult drive(HttpClient client, IntFunction<HttpRequest> requests, int seconds) {
+        Histogram histogram = new ConcurrentHistogram(Duration.ofMinutes(1).toNanos() / 1000, 3);
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.apply(ThreadLocalRandom.current().nextInt(TENANTS));
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        histogram.recordValue(Math.min((System.nanoTime() - start) / 1000, histogram.getHighestTrackableValue()));
+                    }
+                    return null;
+                });
+            }
+        }
+
+        return new PerformanceBaseline.EndpointResult(
+                histogram.getTotalCount(),
+                errors.get(),
+                histogram.getTotalCount() / (double) seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0);
+    }
+
+    private static HttpRequest loginRequest(String baseUrl, int tenant) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"%s\",\"password\":\"%s\"}"
+                        .formatted(PerformanceDataSeeder.email(tenant), PerformanceDataSeeder.PASSWORD)))
+                .build();
+    }
+
+    // Storefront tenants are resolved from the subdomain, so the Host header carries the slug
+    private static HttpRequest publicRequest(String url, int tenant) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Host", PerformanceDataSeeder.slug(tenant) + ".autolot.test")
+                .GET()
+                .build();
+    }
+}
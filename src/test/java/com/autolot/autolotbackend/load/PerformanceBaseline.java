@@ -0,0 +1,67 @@
+package com.autolot.autolotbackend.load;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint results stored as JSON, and the comparison of a run against them.
+ */
+class PerformanceBaseline {
+
+    record EndpointResult(long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+    }
+
+    private static final ObjectMapper objectMapper = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+
+    static Map<String, EndpointResult> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        return objectMapper.readValue(file.toFile(), new TypeReference<LinkedHashMap<String, EndpointResult>>() {
+        });
+    }
+
+    static void write(Path file, Map<String, EndpointResult> results) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writeValue(file.toFile(), results);
+    }
+
+    /**
+     * Returns one message per regression: p50/p99 more than {@code tolerance} above the baseline,
+     * throughput more than {@code tolerance} below it, or any errors where the baseline had none.
+     * Endpoints missing from the baseline are not compared.
+     */
+    static List<String> regressions(Map<String, EndpointResult> baseline, Map<String, EndpointResult> current, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((endpoint, result) -> {
+            EndpointResult before = baseline.get(endpoint);
+            if (before == null) return;
+
+            if (result.p50Millis() > before.p50Millis() * (1 + tolerance)) {
+                regressions.add("%s p50 %.1fms > baseline %.1fms".formatted(endpoint, result.p50Millis(), before.p50Millis()));
+            }
+            if (result.p99Millis() > before.p99Millis() * (1 + tolerance)) {
+                regressions.add("%s p99 %.1fms > baseline %.1fms".formatted(endpoint, result.p99Millis(), before.p99Millis()));
+            }
+            if (result.throughput() < before.throughput() * (1 - tolerance)) {
+                regressions.add("%s throughput %.1f req/s < baseline %.1f req/s".formatted(endpoint, result.throughput(), before.throughput()));
+            }
+            if (before.errors() == 0 && result.errors() > 0) {
+                regressions.add("%s %d errors (baseline had none)".formatted(endpoint, result.errors()));
+            }
+        });
+        return regressions;
+    }
+}
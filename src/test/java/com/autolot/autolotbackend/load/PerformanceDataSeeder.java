@@ -0,0 +1,137 @@
+package com.autolot.autolotbackend.load;
+
+import com.autolot.autolotbackend.util.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the performance database with {@code tenants} dealerships, one admin each, and
+ * {@code vehiclesPerTenant} vehicles with {@code imagesPerVehicle} images per vehicle.
+ *
+ * Data is generated from a fixed seed and only inserted once: a later run that finds the
+ * last tenant already present reuses the existing data, so every run measures the same lot.
+ */
+class PerformanceDataSeeder {
+
+    static final String PASSWORD = "perf-test-password";
+
+    private static final String[] MAKES = {"Toyota", "Ford", "Volkswagen", "BMW", "Nissan", "Hyundai", "Kia", "Mazda"};
+    private static final String[] MODELS = {"Hilux", "Ranger", "Polo", "3 Series", "Navara", "Tucson", "Sportage", "CX-5"};
+    private static final String[] COLORS = {"White", "Silver", "Black", "Grey", "Blue", "Red"};
+    private static final String[] CONDITIONS = {"NEW", "USED", "CERTIFIED_PRE_OWNED"};
+    private static final String[] TRANSMISSIONS = {"AUTOMATIC", "MANUAL"};
+    private static final String[] FUEL_TYPES = {"PETROL", "DIESEL", "ELECTRIC", "HYBRID"};
+    private static final String[] BODY_TYPES = {"SEDAN", "SUV", "TRUCK", "COUPE", "HATCHBACK", "VAN", "CONVERTIBLE"};
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tenants;
+    private final int vehiclesPerTenant;
+    private final int imagesPerVehicle;
+
+    PerformanceDataSeeder(JdbcTemplate jdbcTemplate, int tenants, int vehiclesPerTenant, int imagesPerVehicle) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenants = tenants;
+        this.vehiclesPerTenant = vehiclesPerTenant;
+        this.imagesPerVehicle = imagesPerVehicle;
+    }
+
+    static String slug(int tenant) {
+        return "perf-%04d".formatted(tenant);
+    }
+
+    static String email(int tenant) {
+        return slug(tenant) + "@perf.example.com";
+    }
+
+    /**
+     * Creates the database on the server if it doesn't exist yet, connecting through the
+     * server's default database.
+     */
+    static void createDatabaseIfMissing(String serverUrl, String database, String username, String password) throws SQLException {
+        try (var connection = DriverManager.getConnection(serverUrl, username, password);
+             var exists = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            exists.setString(1, database);
+            if (!exists.executeQuery().next()) {
+                try (var create = connection.createStatement()) {
+                    create.execute("CREATE DATABASE " + database);
+                }
+            }
+        }
+    }
+
+    void seedIfMissing() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM dealership WHERE slug = ?", Integer.class, slug(tenants - 1));
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        // One hash for every admin: bcrypt is slow by design and the cost is identical per user
+        String hashedPassword = new BCryptPasswordEncoder().encode(PASSWORD);
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int tenant = 0; tenant < tenants; tenant++) {
+            String dealershipId = UuidV7.next();
+            jdbcTemplate.update("INSERT INTO dealership (id, name, slug, email, active, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, ?, true, ?, ?) ON CONFLICT (slug) DO NOTHING",
+                    dealershipId, "Perf Motors " + tenant, slug(tenant), email(tenant), now, now);
+            jdbcTemplate.update("INSERT INTO admin_user (id, dealership_id, email, hashed_password, full_name, admin_role, created_at, updated_at) " +
+                            "VALUES (?, ?, ?, ?, ?, 'OWNER', ?, ?) ON CONFLICT (email) DO NOTHING",
+                    UuidV7.next(), dealershipId, email(tenant), hashedPassword, "Perf Owner " + tenant, now, now);
+            seedVehicles(dealershipId, slug(tenant), random, now);
+        }
+    }
+
+    private void seedVehicles(String dealershipId, String slug, Random random, Timestamp now) {
+        List<Object[]> vehicles = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> images = new ArrayList<>(BATCH_SIZE * imagesPerVehicle);
+
+        for (int i = 0; i < vehiclesPerTenant; i++) {
+            String vehicleId = UuidV7.next();
+            vehicles.add(new Object[]{
+                    vehicleId, dealershipId,
+                    MAKES[random.nextInt(MAKES.length)],
+                    MODELS[random.nextInt(MODELS.length)],
+                    2008 + random.nextInt(18),
+                    BigDecimal.valueOf(40_000 + random.nextInt(1_500_000)),
+                    random.nextInt(300_000),
+                    CONDITIONS[random.nextInt(CONDITIONS.length)],
+                    TRANSMISSIONS[random.nextInt(TRANSMISSIONS.length)],
+                    FUEL_TYPES[random.nextInt(FUEL_TYPES.length)],
+                    BODY_TYPES[random.nextInt(BODY_TYPES.length)],
+                    COLORS[random.nextInt(COLORS.length)],
+                    "Full service history, two keys, spare wheel and towbar.",
+                    random.nextInt(20) == 0,
+                    random.nextInt(10) == 0 ? "SOLD" : "AVAILABLE",
+                    now, now});
+
+            for (int image = 0; image < imagesPerVehicle; image++) {
+                String base = "/api/public/images/" + slug + "/" + vehicleId + "/" + image;
+                images.add(new Object[]{UuidV7.next(), dealershipId, vehicleId, base + ".jpg", base + "-thumb.jpg",
+                        base + "-card.jpg", base + "-full.jpg", image, image == 0, now});
+            }
+
+            if (vehicles.size() == BATCH_SIZE || i == vehiclesPerTenant - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO vehicle (id, tenant_id, make, model, year, price, mileage, condition, " +
+                        "transmission, fuel_type, body_type, exterior_color, description, featured, status, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", vehicles);
+                jdbcTemplate.batchUpdate("INSERT INTO vehicle_image (id, tenant_id, vehicle_id, image_url, thumbnail_url, card_url, full_url, " +
+                        "display_order, primary_photo, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", images);
+                vehicles.clear();
+                images.clear();
+            }
+        }
+    }
+}
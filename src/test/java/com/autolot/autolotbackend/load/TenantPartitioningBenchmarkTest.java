@@ -0,0 +1,194 @@
+package com.autolot.autolotbackend.load;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tenant-scoped query latency with the pre-V3 layout (one vehicle / vehicle_image table) versus
+ * the hash-partitioned layout (16 partitions by tenant_id, tenant_id copied into vehicle_image).
+ *
+ * Both layouts are built side by side in schemas of the autolot_perf database and filled
+ * server-side with generate_series (1M vehicles, 3M images by default); they are only rebuilt
+ * when the requested size changes. Each query then runs for random tenants and the p50/p99 per
+ * layout are printed.
+ *
+ * Run with: mvn test -Pload-test -Dtest=TenantPartitioningBenchmarkTest [-Dperf.partition.vehicles=2000000]
+ */
+@Tag("load")
+class TenantPartitioningBenchmarkTest {
+
+    private static final int VEHICLES = Integer.getInteger("perf.partition.vehicles", 1_000_000);
+    private static final int TENANTS = Integer.getInteger("perf.partition.tenants", 1_000);
+    private static final int WARMUP = Integer.getInteger("perf.partition.warmup", 500);
+    private static final int ITERATIONS = Integer.getInteger("perf.partition.iterations", 2_000);
+
+    private static final String SERVER_URL = System.getProperty("perf.serverUrl", "jdbc:postgresql://localhost:5432/");
+    private static final String DATABASE = System.getProperty("perf.database", "autolot_perf");
+    private static final String DB_USERNAME = System.getProperty("perf.username", "admin");
+    private static final String DB_PASSWORD = System.getProperty("perf.password", "mypassword");
+
+    private static final String FLAT = "bench_flat";
+    private static final String PARTITIONED = "bench_partitioned";
+
+    record Query(String name, String flatSql, String partitionedSql) {
+    }
+
+    private static final List<Query> QUERIES = List.of(
+            new Query("listing (status, newest)",
+                    "SELECT * FROM vehicle WHERE tenant_id = ? AND status = 'AVAILABLE' ORDER BY created_at DESC, id DESC LIMIT 20",
+                    "SELECT * FROM vehicle WHERE tenant_id = ? AND status = 'AVAILABLE' ORDER BY created_at DESC, id DESC LIMIT 20"),
+            new Query("listing (price asc)",
+                    "SELECT * FROM vehicle WHERE tenant_id = ? ORDER BY price, id LIMIT 20",
+                    "SELECT * FROM vehicle WHERE tenant_id = ? ORDER BY price, id LIMIT 20"),
+            new Query("inventory count",
+                    "SELECT count(*) FROM vehicle WHERE tenant_id = ?",
+                    "SELECT count(*) FROM vehicle WHERE tenant_id = ?"),
+            new Query("images for a page",
+                    "SELECT i.* FROM vehicle_image i WHERE i.vehicle_id IN " +
+                            "(SELECT id FROM vehicle WHERE tenant_id = ? ORDER BY created_at DESC, id DESC LIMIT 20) ORDER BY i.vehicle_id, i.display_order",
+                    "SELECT i.* FROM vehicle_image i WHERE i.tenant_id = ? AND i.vehicle_id IN " +
+                            "(SELECT id FROM vehicle WHERE tenant_id = ? ORDER BY created_at DESC, id DESC LIMIT 20) ORDER BY i.vehicle_id, i.display_order"));
+
+    @Test
+    void partitionedVersusFlat() throws Exception {
+        PerformanceDataSeeder.createDatabaseIfMissing(SERVER_URL + "postgres", DATABASE, DB_USERNAME, DB_PASSWORD);
+
+        try (Connection connection = DriverManager.getConnection(SERVER_URL + DATABASE, DB_USERNAME, DB_PASSWORD)) {
+            buildIfMissing(connection, FLAT, false);
+            buildIfMissing(connection, PARTITIONED, true);
+
+            Map<String, String> report = new LinkedHashMap<>();
+            for (Query query : QUERIES) {
+                Histogram flat = measure(connection, FLAT, query.flatSql());
+                Histogram partitioned = measure(connection, PARTITIONED, query.partitionedSql());
+                report.put(query.name(), String.format("flat p50=%.2fms p99=%.2fms | partitioned p50=%.2fms p99=%.2fms",
+                        flat.getValueAtPercentile(50) / 1000.0, flat.getValueAtPercentile(99) / 1000.0,
+                        partitioned.getValueAtPercentile(50) / 1000.0, partitioned.getValueAtPercentile(99) / 1000.0));
+                assertThat(flat.getTotalCount()).isEqualTo(ITERATIONS);
+                assertThat(partitioned.getTotalCount()).isEqualTo(ITERATIONS);
+            }
+
+            System.out.println("=== Tenant partitioning: " + VEHICLES + " vehicles, " + TENANTS + " tenants, "
+                    + ITERATIONS + " queries each ===");
+            report.forEach((name, line) -> System.out.printf("%-26s %s%n", name, line));
+        }
+    }
+
+    private static Histogram measure(Connection connection, String schema, String sql) throws SQLException {
+        Histogram histogram = new Histogram(3);
+        Random random = new Random(7);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + schema);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                String tenant = "tenant-" + random.nextInt(TENANTS);
+                for (int p = 1; p <= parameters; p++) {
+                    statement.setString(p, tenant);
+                }
+                long start = System.nanoTime();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        // drain
+                    }
+                }
+                if (i >= WARMUP) {
+                    histogram.recordValue((System.nanoTime() - start) / 1000);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private static void buildIfMissing(Connection connection, String schema, boolean partitioned) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            statement.execute("SET search_path TO " + schema);
+
+            try (ResultSet existing = statement.executeQuery(
+                    "SELECT count(*) FROM information_schema.tables WHERE table_schema = '" + schema + "' AND table_name = 'vehicle'")) {
+                existing.next();
+                if (existing.getLong(1) > 0) {
+                    try (ResultSet count = statement.executeQuery("SELECT count(*) FROM vehicle")) {
+                        count.next();
+                        if (count.getLong(1) == VEHICLES) return;
+                    }
+                }
+            }
+
+            for (String sql : schemaSql(partitioned)) {
+                statement.execute(sql);
+            }
+
+            statement.execute("""
+                    INSERT INTO vehicle (id, tenant_id, make, model, year, price, mileage, status, created_at)
+                    SELECT md5(g::text), 'tenant-' || (g %% %d),
+                           (ARRAY['Toyota','Ford','Volkswagen','BMW','Nissan','Hyundai'])[1 + g %% 6],
+                           (ARRAY['Hilux','Ranger','Polo','3 Series','Navara','Tucson'])[1 + (g / 7) %% 6],
+                           2008 + g %% 18, 40000 + (g * 7919) %% 1500000, (g * 104729) %% 300000,
+                           CASE WHEN g %% 10 = 0 THEN 'SOLD' ELSE 'AVAILABLE' END,
+                           now() - (g %% 500000) * interval '1 minute'
+                    FROM generate_series(1, %d) g
+                    """.formatted(TENANTS, VEHICLES));
+            statement.execute(partitioned
+                    ? """
+                      INSERT INTO vehicle_image (id, tenant_id, vehicle_id, image_url, display_order)
+                      SELECT md5(v.id || n), v.tenant_id, v.id, '/images/' || v.id || '/' || n || '.jpg', n
+                      FROM vehicle v, generate_series(0, 2) n
+                      """
+                    : """
+                      INSERT INTO vehicle_image (id, vehicle_id, image_url, display_order)
+                      SELECT md5(v.id || n), v.id, '/images/' || v.id || '/' || n || '.jpg', n
+                      FROM vehicle v, generate_series(0, 2) n
+                      """);
+            statement.execute("ANALYZE vehicle");
+            statement.execute("ANALYZE vehicle_image");
+        }
+    }
+
+    // The V2 (flat) and V3 (partitioned) shapes, reduced to the columns the queries touch
+    private static List<String> schemaSql(boolean partitioned) {
+        List<String> sql = new ArrayList<>(List.of(
+                "DROP TABLE IF EXISTS vehicle_image",
+                "DROP TABLE IF EXISTS vehicle"));
+        if (partitioned) {
+            sql.add("CREATE TABLE vehicle (id VARCHAR(255) NOT NULL, tenant_id VARCHAR(255) NOT NULL, make VARCHAR(255), " +
+                    "model VARCHAR(255), year INTEGER, price NUMERIC(19, 4), mileage INTEGER, status VARCHAR(255), " +
+                    "created_at TIMESTAMP(6), PRIMARY KEY (tenant_id, id)) PARTITION BY HASH (tenant_id)");
+            sql.add("CREATE TABLE vehicle_image (id VARCHAR(255) NOT NULL, tenant_id VARCHAR(255) NOT NULL, " +
+                    "vehicle_id VARCHAR(255) NOT NULL, image_url VARCHAR(255), display_order INTEGER, " +
+                    "PRIMARY KEY (tenant_id, id)) PARTITION BY HASH (tenant_id)");
+            for (int i = 0; i < 16; i++) {
+                sql.add("CREATE TABLE vehicle_p%d PARTITION OF vehicle FOR VALUES WITH (MODULUS 16, REMAINDER %d)".formatted(i, i));
+                sql.add("CREATE TABLE vehicle_image_p%d PARTITION OF vehicle_image FOR VALUES WITH (MODULUS 16, REMAINDER %d)".formatted(i, i));
+            }
+        } else {
+            sql.add("CREATE TABLE vehicle (id VARCHAR(255) PRIMARY KEY, tenant_id VARCHAR(255) NOT NULL, make VARCHAR(255), " +
+                    "model VARCHAR(255), year INTEGER, price NUMERIC(19, 4), mileage INTEGER, status VARCHAR(255), " +
+                    "created_at TIMESTAMP(6))");
+            sql.add("CREATE TABLE vehicle_image (id VARCHAR(255) PRIMARY KEY, vehicle_id VARCHAR(255) NOT NULL, " +
+                    "image_url VARCHAR(255), display_order INTEGER)");
+        }
+        sql.add("CREATE INDEX ON vehicle (tenant_id, created_at DESC, id DESC)");
+        sql.add("CREATE INDEX ON vehicle (tenant_id, status, created_at DESC, id DESC)");
+        sql.add("CREATE INDEX ON vehicle (tenant_id, price, id)");
+        sql.add("CREATE INDEX ON vehicle_image (vehicle_id, display_order)");
+        return sql;
+    }
+}
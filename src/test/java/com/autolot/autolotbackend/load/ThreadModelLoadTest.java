@@ -0,0 +1,170 @@
+package com.autolot.autolotbackend.load;
+
+import com.autolot.autolotbackend.AutolotBackendApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the platform thread pool with virtual threads (and ScopedValue TenantContext) under
+ * blocking work: half the requests are logins (JDBC lookup + bcrypt), half are admin vehicle
+ * listings (JDBC). Each mode boots its own application against the docker-compose Postgres.
+ * Fails if either mode errors on more than load.maxErrorRate of its requests, or if virtual
+ * threads fall more than load.tolerance below the platform pool's throughput.
+ *
+ * Run with: mvn test -Pload-test [-Dload.concurrency=400 -Dload.seconds=20 -Dload.tolerance=0.10]
+ */
+@Tag("load")
+class ThreadModelLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModelLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 20);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("load.tolerance", "0.10"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final String suffix = UUID.randomUUID().toString().substring(0, 8);
+    private final String email = "load-" + suffix + "@example.com";
+    private final String password = "load-test-password";
+
+    record Result(String mode, int requests, int errors, double throughput, long p50Micros, long p99Micros) {
+        double errorRate() {
+            return requests == 0 ? 1 : errors / (double) requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s requests=%d errors=%d throughput=%.1f req/s p50=%.1fms p99=%.1fms",
+                    mode, requests, errors, throughput, p50Micros / 1000.0, p99Micros / 1000.0);
+        }
+    }
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("=== Thread model load test: {} clients, {}s each ===", CONCURRENCY, SECONDS);
+        log.info("{}", platform);
+        log.info("{}", virtual);
+
+        assertThat(platform.errorRate()).as("platform error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+        assertThat(virtual.errorRate()).as("virtual error rate").isLessThanOrEqualTo(MAX_ERROR_RATE);
+        // The blocking work is the same in both modes; virtual threads must at least keep up
+        assertThat(virtual.throughput())
+                .as("virtual throughput vs platform %.1f req/s (tolerance %.0f%%)", platform.throughput(), TOLERANCE * 100)
+                .isGreaterThanOrEqualTo(platform.throughput() * (1 - TOLERANCE));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AutolotBackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        // Every client is localhost; throttling would measure the limiter, not the endpoints
+                        "app.rate-limit.enabled=false",
+                        "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            String token = signupOrLogin(client, baseUrl);
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger errors = new AtomicInteger();
+            long deadline = System.nanoTime() + Duration.ofSeconds(SECONDS).toNanos();
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CONCURRENCY; i++) {
+                    boolean login = i % 2 == 0;
+                    clients.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            long start = System.nanoTime();
+                            try {
+                                HttpResponse<String> response = client.send(
+                                        login ? loginRequest(baseUrl) : listRequest(baseUrl, token),
+                                        HttpResponse.BodyHandlers.ofString());
+                                if (response.statusCode() != 200) errors.incrementAndGet();
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies.add((System.nanoTime() - start) / 1000);
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new Result(
+                    virtualThreads ? "virtual" : "platform",
+                    sorted.size(),
+                    errors.get(),
+                    sorted.size() / (double) SECONDS,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99));
+        }
+    }
+
+    private String signupOrLogin(HttpClient client, String baseUrl) throws Exception {
+        String signup = """
+                {"dealershipName":"Load Test Motors","slug":"load-%s","email":"%s","password":"%s","fullName":"Load Tester"}
+                """.formatted(suffix, email, password);
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(signup))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 409) {
+            // Second run: the account already exists
+            response = client.send(loginRequest(baseUrl), HttpResponse.BodyHandlers.ofString());
+        }
+
+        Matcher matcher = TOKEN.matcher(response.body());
+        assertThat(matcher.find()).as("token in " + response.body()).isTrue();
+        return matcher.group(1);
+    }
+
+    private HttpRequest loginRequest(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"%s\",\"password\":\"%s\"}".formatted(email, password)))
+                .build();
+    }
+
+    private static HttpRequest listRequest(String baseUrl, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/admin/vehicles"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) return 0;
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+}
@@ -0,0 +1,106 @@
+package com.autolot.autolotbackend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GCRA behaviour of {@link RateLimiter} on a hand-driven clock: 3 requests per minute, so one
+ * token comes back every 20 seconds.
+ */
+class RateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000_000L);
+    private final RateLimiter limiter = new RateLimiter("test", 3, Duration.ofMinutes(1), 1000, now::get);
+
+    @Test
+    void fullBurstIsAllowedThenRejected() {
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(1);
+        RateLimiter.Decision last = limiter.tryAcquire("a");
+        assertThat(last.allowed()).isTrue();
+        assertThat(last.remaining()).isZero();
+
+        RateLimiter.Decision rejected = limiter.tryAcquire("a");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.policy()).isEqualTo("test");
+        assertThat(rejected.limit()).isEqualTo(3);
+        assertThat(rejected.windowSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    void retryAfterIsTheTimeUntilTheNextToken() {
+        drain("a");
+
+        assertThat(limiter.tryAcquire("a").retryAfterSeconds()).isEqualTo(20);
+        advance(Duration.ofSeconds(5));
+        assertThat(limiter.tryAcquire("a").retryAfterSeconds()).isEqualTo(15);
+        // Partial seconds round up, so a client honouring Retry-After is never early
+        advance(Duration.ofMillis(14_500));
+        assertThat(limiter.tryAcquire("a").retryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionsDoNotConsumeTokens() {
+        drain("a");
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+        }
+
+        advance(Duration.ofSeconds(20));
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+    }
+
+    @Test
+    void tokensRefillOneEmissionIntervalAtATime() {
+        drain("a");
+
+        advance(Duration.ofSeconds(19));
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+        advance(Duration.ofSeconds(1));
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+    }
+
+    @Test
+    void idleBucketRefillsCompletelyWithinOneWindow() {
+        drain("a");
+
+        advance(Duration.ofMinutes(5));
+        RateLimiter.Decision decision = limiter.tryAcquire("a");
+        assertThat(decision.allowed()).isTrue();
+        // Idle time doesn't bank more than one burst
+        assertThat(decision.remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void resetIsWhenTheBucketIsFullAgain() {
+        assertThat(limiter.tryAcquire("a").resetSeconds()).isEqualTo(20);
+        assertThat(limiter.tryAcquire("a").resetSeconds()).isEqualTo(40);
+        assertThat(limiter.tryAcquire("a").resetSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        drain("a");
+
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+        RateLimiter.Decision other = limiter.tryAcquire("b");
+        assertThat(other.allowed()).isTrue();
+        assertThat(other.remaining()).isEqualTo(2);
+    }
+
+    private void drain(String key) {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(key).allowed()).isTrue();
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,145 @@
+package com.autolot.autolotbackend.security;
+
+import com.autolot.autolotbackend.ratelimit.RateLimits;
+import com.autolot.autolotbackend.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which paths {@link RateLimitFilter} limits, by which key, and what limited responses carry.
+ * Limits are tiny so a few requests exhaust them: 2 per IP on public endpoints, 1 per IP on auth,
+ * 3 per dealership on storefront search.
+ */
+class RateLimitFilterTests {
+
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimits(true));
+
+    @Test
+    void allowedResponsesCarryRateLimitHeaders() throws Exception {
+        MockHttpServletResponse response = perform("/api/public/vehicles", "10.0.0.1");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("RateLimit-Policy")).isEqualTo("\"ip\";q=2;w=60");
+        assertThat(response.getHeader("RateLimit")).isEqualTo("\"ip\";r=1;t=30");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+
+    @Test
+    void exhaustedLimitIsRejectedWithRetryAfter() throws Exception {
+        perform("/api/public/vehicles", "10.0.0.1");
+        perform("/api/public/vehicles", "10.0.0.1");
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = perform("/api/public/vehicles", "10.0.0.1", chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getHeader("RateLimit")).isEqualTo("\"ip\";r=0;t=60");
+        assertThat(chain.getRequest()).as("request reached the controller").isNull();
+    }
+
+    @Test
+    void clientIpsAreLimitedSeparately() throws Exception {
+        perform("/api/public/vehicles", "10.0.0.1");
+        perform("/api/public/vehicles", "10.0.0.1");
+
+        assertThat(perform("/api/public/vehicles", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(perform("/api/public/vehicles", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void imagesAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = perform("/api/public/images/dealer/vehicle/photo-thumb.jpg", "10.0.0.1");
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader("RateLimit")).isNull();
+        }
+        // ...and don't use up the client's allowance for the rest of the storefront
+        assertThat(perform("/api/public/vehicles", "10.0.0.1").getHeader("RateLimit")).isEqualTo("\"ip\";r=1;t=30");
+    }
+
+    @Test
+    void authEndpointsHaveTheirOwnLimit() throws Exception {
+        assertThat(perform("/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform("/api/auth/login", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("RateLimit-Policy")).isEqualTo("\"auth-ip\";q=1;w=60");
+        assertThat(perform("/api/public/vehicles", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void storefrontSearchIsAlsoLimitedPerDealership() throws Exception {
+        String[] ips = {"10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4"};
+        for (int i = 0; i < 3; i++) {
+            assertThat(performFor("dealership-1", "/api/public/vehicles/search", ips[i]).getStatus()).isEqualTo(200);
+        }
+
+        // A fresh IP, but the storefront's allowance is used up
+        MockHttpServletResponse rejected = performFor("dealership-1", "/api/public/vehicles/search", ips[3]);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("RateLimit-Policy")).isEqualTo("\"dealership\";q=3;w=60");
+
+        assertThat(performFor("dealership-2", "/api/public/vehicles/search", ips[3]).getStatus()).isEqualTo(200);
+        // Cached storefront endpoints aren't limited per dealership
+        assertThat(performFor("dealership-1", "/api/public/vehicles", ips[3]).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void adminEndpointsAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = perform("/api/admin/vehicles", "10.0.0.1");
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader("RateLimit")).isNull();
+        }
+    }
+
+    @Test
+    void disabledFilterLimitsNothing() throws Exception {
+        RateLimitFilter disabled = new RateLimitFilter(rateLimits(false));
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            disabled.doFilter(request("/api/auth/login", "10.0.0.1"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse perform(String path, String ip) throws Exception {
+        return perform(path, ip, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse perform(String path, String ip, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, ip), response, chain);
+        return response;
+    }
+
+    // As SubdomainTenantFilter would have bound it for a storefront request
+    private MockHttpServletResponse performFor(String dealershipId, String path, String ip) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TenantContext.runWithDealershipId(dealershipId,
+                () -> filter.doFilter(request(path, ip), response, new MockFilterChain()));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static RateLimits rateLimits(boolean enabled) {
+        return new RateLimits(enabled, 1000,
+                2, Duration.ofMinutes(1),
+                1, Duration.ofMinutes(1),
+                3, Duration.ofMinutes(1),
+                5, Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,38 @@
+package com.autolot.autolotbackend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate StatementInspector that counts every SQL statement Hibernate prepares, and the UPDATEs among them.
+ * Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=com.autolot.autolotbackend.support.SqlStatementCounter}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger count = new AtomicInteger();
+    private static final AtomicInteger updates = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        count.incrementAndGet();
+        if (sql.stripLeading().regionMatches(true, 0, "update", 0, 6)) {
+            updates.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        count.set(0);
+        updates.set(0);
+    }
+
+    public static int updates() {
+        return updates.get();
+    }
+
+    public static int count() {
+        return count.get();
+    }
+}